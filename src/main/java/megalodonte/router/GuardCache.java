@@ -0,0 +1,137 @@
+package megalodonte.router;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Time-bounded cache of combined guard decisions, keyed by matched route,
+ * route parameters, raw query string and principal. The fragment is not
+ * part of the key.
+ *
+ * <p>Pending decisions are cached too, so concurrent navigations to the
+ * same route share a single evaluation. Decisions that complete
+ * exceptionally are evicted immediately, expired ones when they are next
+ * looked up or when the cache is full.</p>
+ */
+final class GuardCache {
+
+    /**
+     * Default maximum number of cached decisions.
+     */
+    static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private record Key(Router.Route route, Map<String, String> params, String query, Object principal) {}
+
+    private record Entry(CompletableFuture<GuardResult> decision, long expiresAt) {}
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final int maxEntries;
+    private volatile long ttlNanos;
+
+    GuardCache(Duration ttl) {
+        this(ttl, DEFAULT_MAX_ENTRIES, System::nanoTime);
+    }
+
+    GuardCache(Duration ttl, int maxEntries, LongSupplier nanoClock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Guard cache size must be positive: " + maxEntries);
+        }
+        this.nanoClock = nanoClock;
+        this.maxEntries = maxEntries;
+        setTtl(ttl);
+    }
+
+    void setTtl(Duration ttl) {
+        Objects.requireNonNull(ttl, "ttl");
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("Guard cache TTL must not be negative: " + ttl);
+        }
+        this.ttlNanos = ttl.toNanos();
+        entries.clear();
+    }
+
+    /**
+     * Returns the cached decision for the given key, evaluating it
+     * with {@code loader} when absent or expired.
+     *
+     * @param route the matched route
+     * @param params resolved route parameters
+     * @param query raw query string ("" if none)
+     * @param principal current principal (may be null)
+     * @param loader evaluates the guards on a cache miss
+     */
+    CompletableFuture<GuardResult> get(
+            Router.Route route,
+            Map<String, String> params,
+            String query,
+            Object principal,
+            Supplier<CompletableFuture<GuardResult>> loader
+    ) {
+        if (ttlNanos == 0) {
+            return loader.get();
+        }
+
+        Key key = new Key(route, params, query, principal);
+        long now = nanoClock.getAsLong();
+
+        Entry current = entries.get(key);
+        if (current != null) {
+            if (now - current.expiresAt() < 0) {
+                return current.decision();
+            }
+            entries.remove(key, current);
+        }
+
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+
+        CompletableFuture<GuardResult> decision = new CompletableFuture<>();
+        Entry fresh = new Entry(decision, now + ttlNanos);
+
+        if (entries.putIfAbsent(key, fresh) != null) {
+            // Another navigation installed the entry first - share its evaluation
+            return get(route, params, query, principal, loader);
+        }
+
+        decision.whenComplete((result, error) -> {
+            if (error != null) entries.remove(key, fresh);
+        });
+
+        try {
+            loader.get().whenComplete((result, error) -> {
+                if (error != null) decision.completeExceptionally(error);
+                else decision.complete(result);
+            });
+        } catch (RuntimeException e) {
+            decision.completeExceptionally(e);
+        }
+
+        return decision;
+    }
+
+    /**
+     * Removes expired entries; if the cache is still full, drops everything.
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+    }
+
+    void invalidate() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,20 @@
+package megalodonte.router;
+
+import java.util.Map;
+
+/**
+ * Information about a navigation request handed to {@link RouteGuard}s.
+ *
+ * @param path the requested route identification (e.g. cad-prod/123)
+ * @param route the route the path resolved to
+ * @param params resolved dynamic route parameters
+ * @param query query parameters of the path
+ * @param principal the current principal, as supplied to the Router (may be null)
+ */
+public record GuardContext(
+        String path,
+        Router.Route route,
+        Map<String, String> params,
+        QueryParams query,
+        Object principal
+) {}
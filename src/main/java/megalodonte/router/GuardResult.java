@@ -0,0 +1,57 @@
+package megalodonte.router;
+
+/**
+ * Decision returned by a {@link RouteGuard}.
+ *
+ * <p>Use the static factories instead of the canonical constructor:</p>
+ * <ul>
+ *   <li>{@link #allow()} lets the navigation proceed</li>
+ *   <li>{@link #deny(String)} cancels it with a reason</li>
+ *   <li>{@link #redirect(String)} navigates to another route instead</li>
+ * </ul>
+ *
+ * @param decision the kind of decision
+ * @param redirectTo target route identification when redirecting, otherwise null
+ * @param reason human readable reason when denying, otherwise null
+ */
+public record GuardResult(Decision decision, String redirectTo, String reason) {
+
+    /**
+     * Possible guard decisions.
+     */
+    public enum Decision { ALLOW, DENY, REDIRECT }
+
+    private static final GuardResult ALLOW = new GuardResult(Decision.ALLOW, null, null);
+
+    /**
+     * Lets the navigation proceed.
+     *
+     * @return the shared allow result
+     */
+    public static GuardResult allow() {
+        return ALLOW;
+    }
+
+    /**
+     * Cancels the navigation.
+     *
+     * @param reason why the navigation was denied
+     * @return a deny result
+     */
+    public static GuardResult deny(String reason) {
+        return new GuardResult(Decision.DENY, null, reason);
+    }
+
+    /**
+     * Replaces the navigation with another route.
+     *
+     * @param identification the route identification to navigate to instead
+     * @return a redirect result
+     */
+    public static GuardResult redirect(String identification) {
+        if (identification == null) {
+            throw new IllegalArgumentException("Redirect target must not be null");
+        }
+        return new GuardResult(Decision.REDIRECT, identification, null);
+    }
+}
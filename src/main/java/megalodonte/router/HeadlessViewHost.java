@@ -0,0 +1,133 @@
+package megalodonte.router;
+
+/**
+ * In-memory {@link ViewHost} that records what the Router does to it.
+ *
+ * <p>It needs no display and no JavaFX thread, which makes it suitable for
+ * navigation tests, benchmarks and server-side use of the routing core.
+ * Screens are instantiated and receive their lifecycle callbacks as usual,
+ * but are never rendered.</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * HeadlessViewHost main = new HeadlessViewHost("App");
+ * Router router = new Router(routes, "home", main, HeadlessViewHost::new, Runnable::run);
+ *
+ * router.navigateTo("user/42");
+ * assertInstanceOf(UserScreen.class, main.getScreen());
+ * }</pre>
+ */
+public class HeadlessViewHost implements ViewHost {
+
+    private String title;
+    private boolean resizable;
+    private boolean showing;
+    private Object screen;
+    private Router.RouteProps props;
+    private int mountCount;
+    private int focusCount;
+    private Runnable onHidden = () -> {};
+
+    /**
+     * Creates a host without title.
+     */
+    public HeadlessViewHost() {
+        this(null);
+    }
+
+    /**
+     * @param title initial window title
+     */
+    public HeadlessViewHost(String title) {
+        this.title = title;
+    }
+
+    @Override
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public void setResizable(boolean resizable) {
+        this.resizable = resizable;
+    }
+
+    /**
+     * Records the screen without rendering it.
+     */
+    @Override
+    public void mount(Object screen, Router.RouteProps props) {
+        this.screen = screen;
+        this.props = props;
+        mountCount++;
+    }
+
+    @Override
+    public void show() {
+        showing = true;
+    }
+
+    @Override
+    public void close() {
+        if (!showing) return;
+        showing = false;
+        onHidden.run();
+    }
+
+    @Override
+    public void focus() {
+        focusCount++;
+    }
+
+    @Override
+    public void setOnHidden(Runnable action) {
+        this.onHidden = action != null ? action : () -> {};
+    }
+
+    /**
+     * @return whether the host was shown and not closed since
+     */
+    public boolean isShowing() {
+        return showing;
+    }
+
+    /**
+     * @return the last resizable flag set by the Router
+     */
+    public boolean isResizable() {
+        return resizable;
+    }
+
+    /**
+     * @return the last mounted screen, or null
+     */
+    public Object getScreen() {
+        return screen;
+    }
+
+    /**
+     * @return the props of the last mounted route, or null
+     */
+    public Router.RouteProps getProps() {
+        return props;
+    }
+
+    /**
+     * @return how many screens were mounted in this host
+     */
+    public int getMountCount() {
+        return mountCount;
+    }
+
+    /**
+     * @return how many times the host was focused
+     */
+    public int getFocusCount() {
+        return focusCount;
+    }
+}
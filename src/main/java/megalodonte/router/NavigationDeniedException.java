@@ -0,0 +1,31 @@
+package megalodonte.router;
+
+/**
+ * Exception delivered to the navigation error handler when a
+ * {@link RouteGuard} denies access to a route.
+ *
+ * <p>Like {@link RouteNotFoundException}, it is implemented as an
+ * unchecked exception.</p>
+ */
+public class NavigationDeniedException extends RuntimeException {
+
+    private final String identification;
+
+    /**
+     * Creates a new exception for a denied navigation.
+     *
+     * @param identification the route identification that was denied
+     * @param reason the reason given by the guard (may be null)
+     */
+    public NavigationDeniedException(String identification, String reason) {
+        super("Navigation denied: " + identification + (reason != null ? " (" + reason + ")" : ""));
+        this.identification = identification;
+    }
+
+    /**
+     * @return the route identification that was denied
+     */
+    public String getIdentification() {
+        return identification;
+    }
+}
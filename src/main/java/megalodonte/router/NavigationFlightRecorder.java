@@ -0,0 +1,266 @@
+package megalodonte.router;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free, in-memory log of the last router activity.
+ *
+ * <p>Every navigation, spawn, close and focus change handled by the
+ * {@link Router} is appended here, with its phase timings. Older entries
+ * are overwritten once the buffer is full.</p>
+ *
+ * <p>Once a {@link #setDumpDirectory(Path) dump directory} is set, the
+ * Router dumps the buffer to
+ * {@code megalodonte-router-<timestamp>-<sequence>.log} in it whenever a
+ * navigation fails with {@link RouteNotFoundException} or the screen cannot
+ * be rendered, so the session can be reconstructed afterwards. Dumps are
+ * disabled by default; the file is written synchronously on the thread
+ * that navigated.</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * router.getFlightRecorder().setDumpDirectory(Path.of("logs"));
+ *
+ * for (NavigationFlightRecorder.Entry entry : router.getFlightRecorder().snapshot()) {
+ *     System.out.println(entry);
+ * }
+ * }</pre>
+ */
+public final class NavigationFlightRecorder {
+
+    /**
+     * Default number of entries kept.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Kind of recorded activity.
+     */
+    public enum Type { NAVIGATE, SPAWN, CLOSE, FOCUS, ON_MOUNT_ERROR }
+
+    /**
+     * A recorded activity. Phase timings are zero when not applicable.
+     *
+     * @param sequence position of the entry since the recorder was created
+     * @param timestamp wall clock time, in epoch milliseconds
+     * @param type kind of activity
+     * @param identification route identification involved (may be null)
+     * @param outcome result of the activity (e.g. MOUNTED, DENIED, NOT_FOUND)
+     * @param totalNanos total duration
+     * @param resolveNanos time spent resolving the route
+     * @param guardNanos time spent waiting for guards
+     * @param instantiateNanos time spent creating the screen, injecting parameters and running onMount
+     * @param mountNanos time spent rendering the screen into its host
+     * @param detail error description or other detail (may be null)
+     */
+    public record Entry(
+            long sequence,
+            long timestamp,
+            Type type,
+            String identification,
+            String outcome,
+            long totalNanos,
+            long resolveNanos,
+            long guardNanos,
+            long instantiateNanos,
+            long mountNanos,
+            String detail
+    ) {
+        @Override
+        public String toString() {
+            String timings = type == Type.NAVIGATE || type == Type.SPAWN
+                    ? " total=" + micros(totalNanos)
+                            + " resolve=" + micros(resolveNanos)
+                            + " guard=" + micros(guardNanos)
+                            + " instantiate=" + micros(instantiateNanos)
+                            + " mount=" + micros(mountNanos)
+                    : "";
+
+            return sequence
+                    + " " + Instant.ofEpochMilli(timestamp)
+                    + " " + type
+                    + " " + identification
+                    + " " + outcome
+                    + timings
+                    + (detail != null ? " detail=" + detail : "");
+        }
+
+        private static String micros(long nanos) {
+            return (nanos / 1_000) + "us";
+        }
+    }
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile Path dumpDirectory;
+
+    /**
+     * Creates a recorder with {@link #DEFAULT_CAPACITY} entries.
+     */
+    public NavigationFlightRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity number of entries kept, rounded up to a power of two
+     */
+    public NavigationFlightRecorder(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid flight recorder capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return the number of entries kept
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Enables automatic dumps into the given directory. Null (the default)
+     * disables them.
+     *
+     * @param directory dump directory, or null
+     */
+    public void setDumpDirectory(Path directory) {
+        this.dumpDirectory = directory;
+    }
+
+    /**
+     * @return the directory automatic dumps are written to, or null if disabled
+     */
+    public Path getDumpDirectory() {
+        return dumpDirectory;
+    }
+
+    /**
+     * Appends an entry without timings.
+     */
+    void record(Type type, String identification, String outcome, String detail) {
+        record(type, identification, outcome, 0, 0, 0, 0, 0, detail);
+    }
+
+    /**
+     * Appends an entry, overwriting the oldest one when full.
+     */
+    void record(
+            Type type,
+            String identification,
+            String outcome,
+            long totalNanos,
+            long resolveNanos,
+            long guardNanos,
+            long instantiateNanos,
+            long mountNanos,
+            String detail
+    ) {
+        long seq = sequence.getAndIncrement();
+        slots.set((int) (seq & mask), new Entry(
+                seq,
+                System.currentTimeMillis(),
+                type,
+                identification,
+                outcome,
+                totalNanos,
+                resolveNanos,
+                guardNanos,
+                instantiateNanos,
+                mountNanos,
+                detail
+        ));
+    }
+
+    /**
+     * Returns the entries currently held, oldest first.
+     *
+     * <p>Entries overwritten or not yet published while the snapshot is
+     * taken are skipped.</p>
+     *
+     * @return a copy of the buffered entries
+     */
+    public List<Entry> snapshot() {
+        long end = sequence.get();
+        long start = Math.max(0, end - slots.length());
+
+        List<Entry> entries = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            Entry entry = slots.get((int) (seq & mask));
+            if (entry != null && entry.sequence() == seq) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the buffered entries to a file, one per line.
+     *
+     * @param file destination file, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void dump(Path file) throws IOException {
+        dump(file, null);
+    }
+
+    /**
+     * Dumps the buffer to a new file in the dump directory after a failure.
+     *
+     * <p>Errors while writing are reported to {@code System.err} and never
+     * propagate, so that the original failure reaches the error handler.</p>
+     *
+     * @param cause the failure that triggered the dump
+     * @return the written file, or null if dumps are disabled or writing failed
+     */
+    Path dumpOnFailure(Throwable cause) {
+        Path directory = dumpDirectory;
+        if (directory == null) return null;
+
+        Path file = directory.resolve(
+                "megalodonte-router-" + System.currentTimeMillis() + "-" + sequence.get() + ".log");
+        try {
+            Files.createDirectories(directory);
+            dump(file, cause);
+            return file;
+        } catch (IOException e) {
+            System.err.println("Error writing router flight recorder dump to " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void dump(Path file, Throwable cause) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# Megalodonte Router flight recorder dump, " + Instant.now() + "\n");
+
+            if (cause != null) {
+                StringWriter trace = new StringWriter();
+                cause.printStackTrace(new PrintWriter(trace));
+                for (String line : trace.toString().split("\\R")) {
+                    writer.write("# " + line + "\n");
+                }
+            }
+
+            for (Entry entry : snapshot()) {
+                writer.write(entry.toString());
+                writer.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package megalodonte.router;
+
+/**
+ * Phase timings of a single navigation or spawn, from request to
+ * mounted screen, including redirects and asynchronous guards.
+ *
+ * <p>On completion the trace is appended to the
+ * {@link NavigationFlightRecorder} and, when enabled in a JFR recording,
+ * committed as a {@link RouterEvents.Navigation} event.</p>
+ */
+final class NavigationTrace {
+
+    private final NavigationFlightRecorder.Type type;
+    private final String identification;
+    private final RouterEvents.Navigation event = new RouterEvents.Navigation();
+    private final long start;
+    private long guardMark;
+    private boolean finished;
+
+    String route;
+    long resolveNanos;
+    long guardNanos;
+    long instantiateNanos;
+    long mountNanos;
+    boolean renderFailed;
+
+    NavigationTrace(NavigationFlightRecorder.Type type, String identification) {
+        this.type = type;
+        this.identification = identification;
+        this.start = System.nanoTime();
+        event.begin();
+    }
+
+    void guardsStarted() {
+        guardMark = System.nanoTime();
+    }
+
+    void guardsCompleted() {
+        guardNanos += System.nanoTime() - guardMark;
+    }
+
+    /**
+     * Records a successful (or intentionally dropped) navigation.
+     * Only the first completion of a trace is recorded.
+     */
+    void complete(NavigationFlightRecorder recorder, String outcome) {
+        finish(recorder, outcome, null);
+    }
+
+    /**
+     * Records a failed navigation, deriving the outcome from the error.
+     */
+    void fail(NavigationFlightRecorder recorder, Exception error) {
+        String outcome;
+        if (error instanceof RouteNotFoundException) outcome = "NOT_FOUND";
+        else if (error instanceof NavigationDeniedException) outcome = "DENIED";
+        else if (error instanceof RedirectLoopException) outcome = "REDIRECT_LOOP";
+        else if (renderFailed) outcome = "RENDER_FAILED";
+        else outcome = "FAILED";
+
+        finish(recorder, outcome, error.getClass().getSimpleName() + ": " + error.getMessage());
+    }
+
+    private void finish(NavigationFlightRecorder recorder, String outcome, String error) {
+        if (finished) return;
+        finished = true;
+
+        long total = System.nanoTime() - start;
+        recorder.record(type, identification, outcome, total,
+                resolveNanos, guardNanos, instantiateNanos, mountNanos, error);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = type.name();
+            event.identification = identification;
+            event.route = route;
+            event.outcome = outcome;
+            event.resolveTime = resolveNanos;
+            event.guardTime = guardNanos;
+            event.instantiateTime = instantiateNanos;
+            event.mountTime = mountNanos;
+            event.error = error;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package megalodonte.router;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of the query string of a route identification,
+ * e.g. {@code relatorio?inicio=2026-01-01&fim=2026-02-01}.
+ *
+ * <p>The raw query is only parsed the first time a value is requested.
+ * Names and values are percent-decoded ({@code +} is read as a space);
+ * values without escapes are taken directly from the raw string.</p>
+ *
+ * <p>Instances are shared: navigating twice with the same query string
+ * yields the same, already parsed, object.</p>
+ */
+public final class QueryParams {
+
+    /**
+     * Query of an identification without {@code ?}.
+     */
+    public static final QueryParams EMPTY = new QueryParams("");
+
+    /**
+     * Maximum number of distinct query strings kept for sharing.
+     */
+    private static final int SHARED_LIMIT = 256;
+
+    private static final Map<String, QueryParams> SHARED = new ConcurrentHashMap<>();
+
+    private final String raw;
+    private volatile Map<String, List<String>> parsed;
+
+    private QueryParams(String raw) {
+        this.raw = raw;
+    }
+
+    /**
+     * Returns the shared instance for a raw query string.
+     *
+     * @param raw query string without the leading {@code ?} and without fragment
+     * @return the query parameters, never null
+     */
+    public static QueryParams of(String raw) {
+        if (raw == null || raw.isEmpty()) return EMPTY;
+
+        QueryParams shared = SHARED.get(raw);
+        if (shared != null) return shared;
+
+        if (SHARED.size() >= SHARED_LIMIT) {
+            SHARED.clear();
+        }
+        return SHARED.computeIfAbsent(raw, QueryParams::new);
+    }
+
+    /**
+     * @return the raw, still encoded, query string
+     */
+    public String raw() {
+        return raw;
+    }
+
+    /**
+     * @return true if the query has no parameters
+     */
+    public boolean isEmpty() {
+        return raw.isEmpty() || asMap().isEmpty();
+    }
+
+    /**
+     * Returns the first value of a parameter.
+     *
+     * @param name decoded parameter name
+     * @return the first decoded value, an empty string for {@code ?flag}, or null if absent
+     */
+    public String get(String name) {
+        List<String> values = asMap().get(name);
+        return values != null ? values.get(0) : null;
+    }
+
+    /**
+     * Returns every value of a repeated parameter, in order.
+     *
+     * @param name decoded parameter name
+     * @return the decoded values, or an empty list if absent
+     */
+    public List<String> getAll(String name) {
+        return asMap().getOrDefault(name, List.of());
+    }
+
+    /**
+     * @return the decoded parameter names, in order of first appearance
+     */
+    public Set<String> names() {
+        return asMap().keySet();
+    }
+
+    /**
+     * @return an unmodifiable map of decoded names to their values
+     */
+    public Map<String, List<String>> asMap() {
+        Map<String, List<String>> result = parsed;
+        if (result == null) {
+            // Parsing is idempotent, so a racing thread at worst parses twice
+            result = parse(raw);
+            parsed = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return raw;
+    }
+
+    private static Map<String, List<String>> parse(String raw) {
+        if (raw.isEmpty()) return Map.of();
+
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        int length = raw.length();
+        int start = 0;
+
+        while (start <= length) {
+            int end = raw.indexOf('&', start);
+            if (end < 0) end = length;
+
+            if (end > start) {
+                int equals = raw.indexOf('=', start);
+                if (equals < 0 || equals > end) equals = end;
+
+                String name = decode(raw, start, equals);
+                String value = equals < end ? decode(raw, equals + 1, end) : "";
+                values.computeIfAbsent(name, k -> new ArrayList<>(1)).add(value);
+            }
+            start = end + 1;
+        }
+
+        values.replaceAll((name, list) -> List.copyOf(list));
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Percent-decodes {@code raw[start, end)} as UTF-8.
+     * Malformed escapes are kept literally.
+     */
+    private static String decode(String raw, int start, int end) {
+        int first = start;
+        while (first < end && raw.charAt(first) != '%' && raw.charAt(first) != '+') first++;
+        if (first == end) return raw.substring(start, end);
+
+        byte[] bytes = new byte[(end - start) * 3];
+        int size = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = raw.charAt(i);
+
+            if (c == '+') {
+                bytes[size++] = ' ';
+            } else if (c == '%' && i + 2 < end
+                    && Character.digit(raw.charAt(i + 1), 16) >= 0
+                    && Character.digit(raw.charAt(i + 2), 16) >= 0) {
+                bytes[size++] = (byte) (Character.digit(raw.charAt(i + 1), 16) << 4
+                        | Character.digit(raw.charAt(i + 2), 16));
+                i += 2;
+            } else if (c < 0x80) {
+                bytes[size++] = (byte) c;
+            } else {
+                int runEnd = i + 1;
+                while (runEnd < end && raw.charAt(runEnd) >= 0x80) runEnd++;
+                byte[] encoded = raw.substring(i, runEnd).getBytes(StandardCharsets.UTF_8);
+                System.arraycopy(encoded, 0, bytes, size, encoded.length);
+                size += encoded.length;
+                i = runEnd - 1;
+            }
+        }
+
+        return new String(bytes, 0, size, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,33 @@
+package megalodonte.router;
+
+import java.util.List;
+
+/**
+ * Exception thrown when guard redirects never settle on a route,
+ * either because they form a cycle or because the redirect chain
+ * exceeds the Router limit.
+ *
+ * <p>It is considered a configuration error and is therefore
+ * implemented as an unchecked exception.</p>
+ */
+public class RedirectLoopException extends RuntimeException {
+
+    private final List<String> chain;
+
+    /**
+     * Creates a new exception for a redirect loop.
+     *
+     * @param chain the route identifications visited, in order, including the repeated one
+     */
+    public RedirectLoopException(List<String> chain) {
+        super("Redirect loop detected: " + String.join(" -> ", chain));
+        this.chain = List.copyOf(chain);
+    }
+
+    /**
+     * @return the route identifications visited before the loop was stopped
+     */
+    public List<String> getChain() {
+        return chain;
+    }
+}
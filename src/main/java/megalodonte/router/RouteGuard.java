@@ -0,0 +1,34 @@
+package megalodonte.router;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Contract for checks that run before a route is instantiated.
+ *
+ * <p>Guards are evaluated by the Router after the route has been
+ * resolved and before the screen factory is invoked. Each guard
+ * decides whether the navigation is allowed, denied or redirected
+ * to another route.</p>
+ *
+ * <p>Guards may complete asynchronously. All registered guards are
+ * started together and their combined decision is cached per route
+ * and principal for the configured TTL.</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * router.addGuard(ctx -> permissions
+ *         .canOpenAsync(ctx.principal(), ctx.route().identification())
+ *         .thenApply(ok -> ok ? GuardResult.allow() : GuardResult.redirect("login")));
+ * }</pre>
+ */
+@FunctionalInterface
+public interface RouteGuard {
+
+    /**
+     * Evaluates a navigation request.
+     *
+     * @param context the resolved navigation being checked
+     * @return a stage completed with the guard decision
+     */
+    CompletionStage<GuardResult> check(GuardContext context);
+}
@@ -0,0 +1,289 @@
+package megalodonte.router;
+
+import java.util.*;
+
+/**
+ * Route table compiled into a segment tree.
+ *
+ * <p>Route identifications are split into segments once, when the Router is
+ * created. Resolving a path then walks the tree one segment at a time, so
+ * the cost depends on the path length rather than on the number of
+ * registered routes.</p>
+ *
+ * <p>Supported segment forms:</p>
+ * <ul>
+ *   <li>{@code products} - literal segment</li>
+ *   <li>{@code ${id}} - any single segment</li>
+ *   <li>{@code ${id:int}}, {@code ${slug:[a-z-]+}} - constrained segment, see {@link SegmentConstraint}</li>
+ *   <li>{@code ${page?}}, {@code ${page?:int}} - optional segment</li>
+ *   <li>{@code ${rest*}} - catch-all; must be the last segment and captures
+ *       the remaining segments joined by {@code /} (possibly empty)</li>
+ * </ul>
+ *
+ * <p>Parameter segments are matched by position: routes that differ only
+ * in parameter names, such as {@code a/${x}} and {@code a/${y}}, are
+ * ambiguous and rejected. When several routes could match, literals win
+ * over constrained parameters, constrained parameters over plain ones, and
+ * catch-alls are tried last. Constrained parameters at the same position
+ * are tried in a fixed order that does not depend on the order routes are
+ * registered in: {@code uuid}, {@code int}, {@code long}, {@code alpha},
+ * {@code alnum}, then character classes sorted by their specification.</p>
+ */
+final class RouteMatcher {
+
+    /**
+     * Result of a successful match.
+     */
+    record Match(Router.Route route, Map<String, String> params) {}
+
+    private enum Kind { LITERAL, PARAM, OPTIONAL, CATCH_ALL }
+
+    private record Segment(Kind kind, String value, String spec, SegmentConstraint constraint) {}
+
+    /**
+     * Edge taken by a parameter segment; shared by every route using the
+     * same constraint (or no constraint) at that position.
+     */
+    private record ParamEdge(String spec, SegmentConstraint constraint, Node next) {}
+
+    /**
+     * A route ending at a node, with the names of the parameters captured
+     * along the way, in path order.
+     */
+    private record Terminal(Router.Route route, String[] names) {}
+
+    /**
+     * Fixed order of constrained edges; unconstrained edges always come last.
+     */
+    private static final Comparator<String> SPEC_ORDER = Comparator
+            .comparingInt(RouteMatcher::specRank)
+            .thenComparing(Comparator.naturalOrder());
+
+    private static final List<String> BUILT_IN_ORDER = List.of("uuid", "int", "long", "alpha", "alnum");
+
+    private static final class Node {
+        final Map<String, Node> literals = new HashMap<>();
+        final List<ParamEdge> params = new ArrayList<>(1);
+        Terminal terminal;
+        Terminal catchAll;
+    }
+
+    private final Node root = new Node();
+    private final int maxCaptures;
+
+    /**
+     * Compiles the given routes.
+     *
+     * @param routes routes to compile
+     * @throws IllegalArgumentException if a pattern is invalid or two routes are indistinguishable
+     */
+    RouteMatcher(Collection<Router.Route> routes) {
+        int captures = 0;
+        for (Router.Route route : routes) {
+            List<Segment> segments = parse(route.identification());
+            insert(root, segments, 0, new ArrayList<>(), route);
+            captures = Math.max(captures, segments.size());
+        }
+        this.maxCaptures = captures;
+    }
+
+    /**
+     * Finds the route matching the given path.
+     *
+     * @param path path without query or fragment
+     * @return the match, or null if no route matches
+     */
+    Match match(String path) {
+        Search search = new Search(splitPath(path), maxCaptures);
+        Terminal terminal = search.find(root, 0);
+        if (terminal == null) return null;
+
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < terminal.names().length; i++) {
+            params.put(terminal.names()[i], search.values[i]);
+        }
+        return new Match(terminal.route(), params);
+    }
+
+    /**
+     * Splits a path the same way for patterns and navigations.
+     * Single-character splits do not go through the regex engine.
+     */
+    private static String[] splitPath(String path) {
+        return path.split("/");
+    }
+
+    private static int specRank(String spec) {
+        int index = BUILT_IN_ORDER.indexOf(spec);
+        return index >= 0 ? index : BUILT_IN_ORDER.size();
+    }
+
+    private static List<Segment> parse(String identification) {
+        String[] parts = splitPath(identification);
+        List<Segment> segments = new ArrayList<>(parts.length);
+
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+
+            if (!part.startsWith("${")) {
+                segments.add(new Segment(Kind.LITERAL, part, null, null));
+                continue;
+            }
+            if (!part.endsWith("}")) {
+                throw new IllegalArgumentException(
+                        "Unterminated parameter segment '" + part + "' in route: " + identification);
+            }
+
+            String inner = part.substring(2, part.length() - 1);
+            int colon = inner.indexOf(':');
+            String name = colon < 0 ? inner : inner.substring(0, colon);
+            String spec = colon < 0 ? null : inner.substring(colon + 1);
+
+            Kind kind = Kind.PARAM;
+            if (name.endsWith("?")) {
+                kind = Kind.OPTIONAL;
+                name = name.substring(0, name.length() - 1);
+            } else if (name.endsWith("*")) {
+                kind = Kind.CATCH_ALL;
+                name = name.substring(0, name.length() - 1);
+            }
+
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Missing parameter name in route: " + identification);
+            }
+            if (kind == Kind.CATCH_ALL && (spec != null || i != parts.length - 1)) {
+                throw new IllegalArgumentException(
+                        "Catch-all segment must be last and unconstrained in route: " + identification);
+            }
+
+            SegmentConstraint constraint = spec != null ? SegmentConstraint.parse(spec) : null;
+            segments.add(new Segment(kind, name, spec, constraint));
+        }
+
+        return segments;
+    }
+
+    private static void insert(Node node, List<Segment> segments, int index, List<String> names, Router.Route route) {
+        if (index == segments.size()) {
+            String[] captured = names.toArray(String[]::new);
+            // The same route may reach a node twice through optional segments,
+            // but only if both ways capture the same parameters
+            if (node.terminal != null
+                    && (node.terminal.route() != route || !Arrays.equals(node.terminal.names(), captured))) {
+                throw ambiguous(node.terminal.route(), route);
+            }
+            node.terminal = new Terminal(route, captured);
+            return;
+        }
+
+        Segment segment = segments.get(index);
+
+        switch (segment.kind()) {
+            case LITERAL -> insert(
+                    node.literals.computeIfAbsent(segment.value(), k -> new Node()),
+                    segments, index + 1, names, route);
+            case PARAM -> insertParam(node, segments, index, names, route);
+            case OPTIONAL -> {
+                insertParam(node, segments, index, names, route);
+                insert(node, segments, index + 1, names, route);
+            }
+            case CATCH_ALL -> {
+                if (node.catchAll != null) {
+                    throw ambiguous(node.catchAll.route(), route);
+                }
+                List<String> withRest = new ArrayList<>(names);
+                withRest.add(segment.value());
+                node.catchAll = new Terminal(route, withRest.toArray(String[]::new));
+            }
+        }
+    }
+
+    private static void insertParam(Node node, List<Segment> segments, int index, List<String> names, Router.Route route) {
+        Segment segment = segments.get(index);
+        List<String> withParam = new ArrayList<>(names);
+        withParam.add(segment.value());
+        insert(paramChild(node, segment), segments, index + 1, withParam, route);
+    }
+
+    /**
+     * Returns the child for a parameter segment, sharing it with routes that
+     * use the same constraint at this position. Edges are kept in
+     * {@link #SPEC_ORDER}, unconstrained last.
+     */
+    private static Node paramChild(Node node, Segment segment) {
+        int position = 0;
+        for (ParamEdge edge : node.params) {
+            if (Objects.equals(edge.spec(), segment.spec())) {
+                return edge.next();
+            }
+            if (segment.spec() != null && (edge.spec() == null || SPEC_ORDER.compare(edge.spec(), segment.spec()) > 0)) {
+                break;
+            }
+            position++;
+        }
+
+        ParamEdge edge = new ParamEdge(segment.spec(), segment.constraint(), new Node());
+        node.params.add(position, edge);
+        return edge.next();
+    }
+
+    private static IllegalArgumentException ambiguous(Router.Route first, Router.Route second) {
+        return new IllegalArgumentException(
+                "Ambiguous routes: " + first.identification() + " and " + second.identification());
+    }
+
+    /**
+     * Depth-first walk over the tree, recording captured values by position
+     * so that backtracking only resets a counter.
+     */
+    private static final class Search {
+        final String[] segments;
+        final String[] values;
+        int size;
+
+        Search(String[] segments, int maxCaptures) {
+            this.segments = segments;
+            this.values = new String[maxCaptures];
+        }
+
+        Terminal find(Node node, int index) {
+            if (index == segments.length) {
+                if (node.terminal != null) return node.terminal;
+                if (node.catchAll != null) {
+                    capture("");
+                    return node.catchAll;
+                }
+                return null;
+            }
+
+            String segment = segments[index];
+
+            Node literal = node.literals.get(segment);
+            if (literal != null) {
+                Terminal terminal = find(literal, index + 1);
+                if (terminal != null) return terminal;
+            }
+
+            for (ParamEdge edge : node.params) {
+                if (edge.constraint() != null && !edge.constraint().test(segment)) continue;
+
+                int mark = size;
+                capture(segment);
+                Terminal terminal = find(edge.next(), index + 1);
+                if (terminal != null) return terminal;
+                size = mark;
+            }
+
+            if (node.catchAll != null) {
+                capture(String.join("/", Arrays.asList(segments).subList(index, segments.length)));
+                return node.catchAll;
+            }
+
+            return null;
+        }
+
+        private void capture(String value) {
+            values[size++] = value;
+        }
+    }
+}
@@ -22,4 +22,20 @@ public interface RouteParamsAware {
      *               (e.g. "id" -> "123")
      */
     void onRouteParams(Map<String, String> params);
+
+    /**
+     * Called by the Router after {@link #onRouteParams(Map)} with the
+     * query string of the identification (e.g. relatorio?inicio=2026-01-01).
+     *
+     * @param query the query parameters, {@link QueryParams#EMPTY} if there is none
+     */
+    default void onQueryParams(QueryParams query) {}
+
+    /**
+     * Called by the Router when the identification has a fragment
+     * (e.g. "resumo" for ajuda#resumo).
+     *
+     * @param fragment the raw fragment, without the leading {@code #}
+     */
+    default void onFragment(String fragment) {}
 }
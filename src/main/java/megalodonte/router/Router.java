@@ -1,13 +1,17 @@
 package megalodonte.router;
 
-import javafx.scene.Parent;
-import javafx.scene.Scene;
+import javafx.application.Platform;
 import javafx.stage.Stage;
-import megalodonte.base.ComponentInterface;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Central routing manager responsible for navigation and window spawning.
@@ -15,12 +19,24 @@ import java.util.function.Function;
  * <p>The Router handles:</p>
  * <ul>
  *   <li>Smart navigation to the currently active stage</li>
- *   <li>Dynamic route matching</li>
+ *   <li>Dynamic route matching (parameters, constraints, optional and catch-all segments)</li>
  *   <li>Secondary window lifecycle management</li>
- *   <li>Route parameter injection</li>
+ *   <li>Route parameter and query string injection</li>
+ *   <li>Route guards (allow, deny or redirect before a screen is built)</li>
+ *   <li>Flight recording of navigation activity (JFR events and in-memory ring buffer)</li>
  *   <li>Active stage tracking and focus management</li>
  * </ul>
  *
+ * <p>The Router itself does not depend on the UI toolkit: windows are
+ * accessed through {@link ViewHost}. The {@link Stage} constructor wraps
+ * stages in {@link StageViewHost}; tests and server-side code can use
+ * {@link HeadlessViewHost} instead, without a display or JavaFX thread.</p>
+ *
+ * <p>The Router is not thread-safe. It must be used from a single thread,
+ * the JavaFX application thread for the {@link Stage} constructor, and the
+ * UI executor must run tasks on that same thread, since navigations
+ * resumed after asynchronous guards change the router state.</p>
+ *
  * <p>Navigation Behavior:</p>
  * <ul>
  *   <li>navigateTo() always navigates the currently active stage</li>
@@ -56,7 +72,8 @@ public class Router {
     /**
      * Route definition.
      *
-     * @param identification route path (static or dynamic, e.g. cad-prod/${id})
+     * @param identification route path (static or dynamic, e.g. cad-prod/${id},
+     *                       cad-prod/${id:int}, docs/${rest*})
      * @param routerObjectFunction factory responsible for creating the screen instance
      * @param props visual configuration of the route
      */
@@ -66,9 +83,14 @@ public class Router {
             RouteProps props
     ) {}
 
-    private final Set<Route> routes;
-    private final Stage mainStage;
-    private Stage currentActiveStage;
+    private final RouteMatcher matcher;
+    private final ViewHost mainHost;
+    private ViewHost currentActiveHost;
+
+    /**
+     * Creates the host of every spawned window.
+     */
+    private final Supplier<? extends ViewHost> hostFactory;
 
     /**
      * Represents a spawned (secondary) window managed by the router.
@@ -76,11 +98,51 @@ public class Router {
     private record SpawnedWindow(
             String identification,
             Route route,
-            Stage stage
+            ViewHost host
     ) {}
 
     private final List<SpawnedWindow> spawnedWindows = new ArrayList<>();
 
+    /**
+     * Maximum number of guard redirects followed by a single navigation.
+     */
+    private static final int MAX_REDIRECTS = 10;
+
+    /**
+     * Identification recorded for focus changes to the main host.
+     */
+    private static final String MAIN_HOST_TARGET = "<main>";
+
+    /**
+     * Default time a combined guard decision stays cached.
+     */
+    private static final Duration DEFAULT_GUARD_CACHE_TTL = Duration.ofSeconds(30);
+
+    private final List<RouteGuard> guards = new CopyOnWriteArrayList<>();
+    private final GuardCache guardCache = new GuardCache(DEFAULT_GUARD_CACHE_TTL);
+    private Supplier<?> principalSupplier = () -> null;
+
+    /**
+     * Executor used to resume navigations whose guards complete asynchronously.
+     */
+    private final Executor uiExecutor;
+
+    /**
+     * Incremented on every navigateTo() so that a navigation resumed by an
+     * asynchronous guard does not override a newer one.
+     */
+    private long navigationTicket;
+
+    private final NavigationFlightRecorder flightRecorder = new NavigationFlightRecorder();
+
+    /**
+     * Callback that applies a navigation once all guards allowed it.
+     */
+    @FunctionalInterface
+    private interface NavigationCommit {
+        void commit(ResolvedRoute resolved) throws Exception;
+    }
+
     /**
      * Creates a new Router instance and initializes the entrypoint route.
      *
@@ -88,6 +150,7 @@ public class Router {
      * @param entrypointScreenName initial route identification
      * @param mainStage primary application stage
      * @throws ReflectiveOperationException if screen instantiation fails
+     * @throws IllegalArgumentException if a route pattern is invalid or ambiguous
      */
     public Router(
             Set<Route> routes,
@@ -95,12 +158,121 @@ public class Router {
             Stage mainStage
     ) throws ReflectiveOperationException {
 
-        this.routes = routes;
-        this.mainStage = mainStage;
-        this.currentActiveStage = mainStage;
+        this(
+                routes,
+                entrypointScreenName,
+                new StageViewHost(mainStage),
+                () -> new StageViewHost(new Stage()),
+                Platform::runLater
+        );
+    }
+
+    /**
+     * Creates a new Router on top of arbitrary view hosts and initializes
+     * the entrypoint route.
+     *
+     * @param routes all registered application routes
+     * @param entrypointScreenName initial route identification
+     * @param mainHost host of the main window
+     * @param hostFactory creates the host of each spawned window
+     * @param uiExecutor executor on which navigations resume after asynchronous guards;
+     *                   it must run tasks on the thread that uses the router (e.g. a
+     *                   single-thread executor that also creates and drives the router).
+     *                   {@code Runnable::run} is only safe if guards complete on that thread
+     * @throws ReflectiveOperationException if screen instantiation fails
+     * @throws IllegalArgumentException if a route pattern is invalid or ambiguous
+     */
+    public Router(
+            Set<Route> routes,
+            String entrypointScreenName,
+            ViewHost mainHost,
+            Supplier<? extends ViewHost> hostFactory,
+            Executor uiExecutor
+    ) throws ReflectiveOperationException {
+
+        this.matcher = new RouteMatcher(routes);
+        this.mainHost = Objects.requireNonNull(mainHost, "mainHost");
+        this.hostFactory = Objects.requireNonNull(hostFactory, "hostFactory");
+        this.uiExecutor = Objects.requireNonNull(uiExecutor, "uiExecutor");
+        this.currentActiveHost = mainHost;
+
+        NavigationTrace trace = new NavigationTrace(NavigationFlightRecorder.Type.NAVIGATE, entrypointScreenName);
+        try {
+            mountRoute(resolveRoute(entrypointScreenName, trace), mainHost, trace);
+            trace.complete(flightRecorder, "MOUNTED");
+        } catch (RuntimeException | ReflectiveOperationException e) {
+            failNavigation(trace, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Registers a guard evaluated before every navigation and spawn.
+     *
+     * <p>Guards run concurrently; the first denial (in registration order)
+     * wins, then the first redirect. Registering a guard clears the guard
+     * decision cache. The entrypoint route passed to the constructor is
+     * not guarded.</p>
+     *
+     * @param guard the guard to register
+     */
+    public void addGuard(RouteGuard guard) {
+        guards.add(Objects.requireNonNull(guard, "guard"));
+        guardCache.invalidate();
+    }
+
+    /**
+     * Removes a previously registered guard.
+     *
+     * @param guard the guard to remove
+     */
+    public void removeGuard(RouteGuard guard) {
+        guards.remove(guard);
+        guardCache.invalidate();
+    }
 
-        Scene scene = resolveAndCreateScene(entrypointScreenName, mainStage);
-        mainStage.setScene(scene);
+    /**
+     * Sets the supplier of the current principal passed to guards
+     * and used as part of the guard cache key.
+     *
+     * @param principalSupplier supplier of the current principal (may return null)
+     */
+    public void setPrincipalSupplier(Supplier<?> principalSupplier) {
+        this.principalSupplier = Objects.requireNonNull(principalSupplier, "principalSupplier");
+    }
+
+    /**
+     * Sets how long combined guard decisions are cached per route,
+     * parameters, query string and principal. {@link Duration#ZERO}
+     * disables caching.
+     *
+     * @param ttl time to live of cached decisions (default 30 seconds)
+     */
+    public void setGuardCacheTtl(Duration ttl) {
+        guardCache.setTtl(ttl);
+    }
+
+    /**
+     * Discards all cached guard decisions, e.g. after logout or
+     * a permission change.
+     */
+    public void invalidateGuardCache() {
+        guardCache.invalidate();
+    }
+
+    /**
+     * Gets the in-memory log of recent navigations, spawns, closes and
+     * focus changes.
+     *
+     * <p>Once a dump directory is set with
+     * {@link NavigationFlightRecorder#setDumpDirectory(java.nio.file.Path)},
+     * the log is dumped to a file whenever a navigation fails with
+     * {@link RouteNotFoundException} or its screen cannot be rendered.</p>
+     *
+     * @return the router flight recorder
+     */
+    public NavigationFlightRecorder getFlightRecorder() {
+        return flightRecorder;
     }
 
     /**
@@ -114,9 +286,20 @@ public class Router {
      * </ul>
      * 
      * @return the stage that should receive navigation commands, or null if not set
+     *         or if the active host is not a {@link StageViewHost}
      */
     public Stage getCurrentActiveStage() {
-        return currentActiveStage;
+        return currentActiveHost instanceof StageViewHost host ? host.stage() : null;
+    }
+
+    /**
+     * Gets the host that currently receives navigation commands.
+     *
+     * @return the active view host
+     * @see #getCurrentActiveStage()
+     */
+    public ViewHost getCurrentActiveHost() {
+        return currentActiveHost;
     }
 
     /**
@@ -134,6 +317,11 @@ public class Router {
      * <p>The navigation target is determined by the current active stage:
      * see {@link #getCurrentActiveStage()} for details on active stage management.</p>
      *
+     * <p>If guards are registered, the scene is only built once all of them
+     * allow the navigation. Denials are reported as
+     * {@link NavigationDeniedException} and redirect cycles as
+     * {@link RedirectLoopException}.</p>
+     *
      * @param screenIdentification route identification to navigate to
      * @param errorHandler callback invoked if navigation fails
      */
@@ -141,13 +329,19 @@ public class Router {
             String screenIdentification,
             Consumer<Exception> errorHandler
     ) {
-        try {
-            Stage targetStage = getCurrentActiveStage();
-            Scene scene = resolveAndCreateScene(screenIdentification, targetStage);
-            targetStage.setScene(scene);
-        } catch (Exception e) {
-            errorHandler.accept(e);
-        }
+        ViewHost targetHost = currentActiveHost;
+        long ticket = ++navigationTicket;
+        NavigationTrace trace = new NavigationTrace(NavigationFlightRecorder.Type.NAVIGATE, screenIdentification);
+
+        navigateGuarded(screenIdentification, trace, errorHandler, resolved -> {
+            // Superseded by a newer navigation while guards were pending
+            if (ticket != navigationTicket) {
+                trace.complete(flightRecorder, "SUPERSEDED");
+                return;
+            }
+
+            mountRoute(resolved, targetHost, trace);
+        });
     }
 
     /**
@@ -160,37 +354,33 @@ public class Router {
             String screenIdentification,
             Consumer<Exception> errorHandler
     ) {
-        try {
-            Stage stage = new Stage();
-            Scene scene = resolveAndCreateScene(screenIdentification, stage);
-
-            stage.setScene(scene);
-            stage.show();
+        NavigationTrace trace = new NavigationTrace(NavigationFlightRecorder.Type.SPAWN, screenIdentification);
 
-            ResolvedRoute resolved = resolveRoute(screenIdentification);
+        navigateGuarded(screenIdentification, trace, errorHandler, resolved -> {
+            ViewHost host = hostFactory.get();
+            mountRoute(resolved, host, trace);
+            host.show();
 
             spawnedWindows.add(
                     new SpawnedWindow(
-                            screenIdentification,
+                            resolved.identification(),
                             resolved.route(),
-                            stage
+                            host
                     )
             );
 
-            stage.setOnHidden(e -> {
-                    spawnedWindows.removeIf(w -> w.stage() == stage);
+            host.setOnHidden(() -> {
+                    spawnedWindows.removeIf(w -> w.host() == host);
+                    recordClose(resolved.identification());
                     // Reset to main stage if this was the active stage
-                    if (currentActiveStage == stage) {
-                        currentActiveStage = mainStage;
+                    if (currentActiveHost == host) {
+                        activate(mainHost, MAIN_HOST_TARGET);
                     }
                 });
 
                 // Set this as the active stage when spawned
-                currentActiveStage = stage;
-
-        } catch (Exception e) {
-            errorHandler.accept(e);
-        }
+                activate(host, resolved.identification());
+        });
     }
 
     /**
@@ -209,7 +399,7 @@ public class Router {
         if (spawnedWindows.isEmpty()) return;
 
         SpawnedWindow last = spawnedWindows.remove(spawnedWindows.size() - 1);
-        last.stage().close();
+        last.host().close();
     }
 
     /**
@@ -224,11 +414,12 @@ public class Router {
             SpawnedWindow window = it.next();
             if (window.identification().equals(identification)) {
                 // Reset active stage if closing the current active one
-                if (currentActiveStage == window.stage()) {
-                    currentActiveStage = mainStage;
+                if (currentActiveHost == window.host()) {
+                    activate(mainHost, MAIN_HOST_TARGET);
                 }
-                window.stage().close();
+                // Remove before closing: close() runs the hidden action, which edits this list
                 it.remove();
+                window.host().close();
                 return;
             }
         }
@@ -248,73 +439,257 @@ public class Router {
      * back to the main window after working with spawned windows.</p>
      */
     public void focusMainStage() {
-        mainStage.toFront();
-        mainStage.requestFocus();
-        currentActiveStage = mainStage;
+        mainHost.focus();
+        activate(mainHost, MAIN_HOST_TARGET);
+    }
+
+    /**
+     * Makes a host the navigation target and records the focus change.
+     */
+    private void activate(ViewHost host, String target) {
+        currentActiveHost = host;
+        flightRecorder.record(NavigationFlightRecorder.Type.FOCUS, target, "ACTIVE", null);
+
+        RouterEvents.FocusChanged event = new RouterEvents.FocusChanged();
+        if (event.shouldCommit()) {
+            event.target = target;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records that a spawned window was closed, by the router or the user.
+     */
+    private void recordClose(String identification) {
+        flightRecorder.record(NavigationFlightRecorder.Type.CLOSE, identification, "CLOSED", null);
+
+        RouterEvents.WindowClosed event = new RouterEvents.WindowClosed();
+        if (event.shouldCommit()) {
+            event.identification = identification;
+            event.commit();
+        }
     }
 
     /**
-     * Resolves a route and builds its Scene.
+     * Records a failed navigation and dumps the flight recorder when the
+     * route was not found or the screen could not be rendered.
+     */
+    private void failNavigation(NavigationTrace trace, Exception error) {
+        trace.fail(flightRecorder, error);
+
+        if (error instanceof RouteNotFoundException || trace.renderFailed) {
+            flightRecorder.dumpOnFailure(error);
+        }
+    }
+
+    /**
+     * Resolves a route, runs the registered guards and commits the
+     * navigation once they allow it.
+     *
+     * <p>Guards that are already complete are applied synchronously;
+     * otherwise the navigation resumes on the UI executor.</p>
      *
      * @param identification route identification
-     * @param targetStage stage where the scene will be applied
-     * @return the resolved JavaFX Scene
-     * @throws ReflectiveOperationException if rendering fails
+     * @param trace phase timings of this navigation
+     * @param errorHandler callback invoked if resolution, guards or commit fail
+     * @param commit action applying the resolved route
      */
-    private Scene resolveAndCreateScene(
+    private void navigateGuarded(
             String identification,
-            Stage targetStage
+            NavigationTrace trace,
+            Consumer<Exception> errorHandler,
+            NavigationCommit commit
+    ) {
+        navigateGuarded(
+                identification,
+                new ArrayList<>(),
+                trace,
+                e -> {
+                    failNavigation(trace, e);
+                    errorHandler.accept(e);
+                },
+                resolved -> {
+                    commit.commit(resolved);
+                    trace.complete(flightRecorder, "MOUNTED");
+                }
+        );
+    }
+
+    private void navigateGuarded(
+            String identification,
+            List<String> chain,
+            NavigationTrace trace,
+            Consumer<Exception> errorHandler,
+            NavigationCommit commit
+    ) {
+        try {
+            boolean repeated = chain.contains(identification);
+            chain.add(identification);
+
+            if (repeated || chain.size() > MAX_REDIRECTS + 1) {
+                throw new RedirectLoopException(chain);
+            }
+
+            ResolvedRoute resolved = resolveRoute(identification, trace);
+
+            if (guards.isEmpty()) {
+                commit.commit(resolved);
+                return;
+            }
+
+            Object principal = principalSupplier.get();
+            GuardContext context = new GuardContext(
+                    identification,
+                    resolved.route(),
+                    resolved.params(),
+                    resolved.query(),
+                    principal
+            );
+
+            trace.guardsStarted();
+            CompletableFuture<GuardResult> decision =
+                    guardCache.get(
+                            resolved.route(),
+                            resolved.params(),
+                            resolved.query().raw(),
+                            principal,
+                            () -> evaluateGuards(context)
+                    );
+
+            if (decision.isDone()) {
+                applyDecision(decision, resolved, chain, trace, errorHandler, commit);
+            } else {
+                decision.whenComplete((result, error) -> uiExecutor.execute(
+                        () -> applyDecision(decision, resolved, chain, trace, errorHandler, commit)));
+            }
+        } catch (Exception e) {
+            errorHandler.accept(e);
+        }
+    }
+
+    /**
+     * Applies a completed guard decision: commits, denies or follows the redirect.
+     */
+    private void applyDecision(
+            CompletableFuture<GuardResult> decision,
+            ResolvedRoute resolved,
+            List<String> chain,
+            NavigationTrace trace,
+            Consumer<Exception> errorHandler,
+            NavigationCommit commit
+    ) {
+        trace.guardsCompleted();
+        try {
+            GuardResult result = decision.join();
+
+            switch (result.decision()) {
+                case ALLOW -> commit.commit(resolved);
+                case DENY -> throw new NavigationDeniedException(resolved.identification(), result.reason());
+                case REDIRECT -> navigateGuarded(result.redirectTo(), chain, trace, errorHandler, commit);
+            }
+        } catch (CompletionException e) {
+            errorHandler.accept(e.getCause() instanceof Exception cause ? cause : e);
+        } catch (Exception e) {
+            errorHandler.accept(e);
+        }
+    }
+
+    /**
+     * Starts every registered guard and combines their results.
+     *
+     * <p>The first denial in registration order wins, then the first
+     * redirect; the navigation is allowed only if every guard allows it.</p>
+     */
+    private CompletableFuture<GuardResult> evaluateGuards(GuardContext context) {
+        List<CompletableFuture<GuardResult>> pending = new ArrayList<>(guards.size());
+        for (RouteGuard guard : guards) {
+            pending.add(guard.check(context).toCompletableFuture());
+        }
+
+        return CompletableFuture
+                .allOf(pending.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    GuardResult redirect = null;
+                    for (CompletableFuture<GuardResult> future : pending) {
+                        GuardResult result = Objects.requireNonNull(future.join(), "Guard returned a null result");
+                        if (result.decision() == GuardResult.Decision.DENY) return result;
+                        if (redirect == null && result.decision() == GuardResult.Decision.REDIRECT) redirect = result;
+                    }
+                    return redirect != null ? redirect : GuardResult.allow();
+                });
+    }
+
+    /**
+     * Instantiates the screen of an already resolved route and mounts it in a host.
+     *
+     * @param resolved resolved route and parameters
+     * @param targetHost host where the screen will be mounted
+     * @param trace phase timings of this navigation
+     * @throws ReflectiveOperationException if rendering fails
+     */
+    private void mountRoute(
+            ResolvedRoute resolved,
+            ViewHost targetHost,
+            NavigationTrace trace
     ) throws ReflectiveOperationException {
 
-        ResolvedRoute resolved = resolveRoute(identification);
         Route route = resolved.route();
 
-        applyStageTitle(targetStage, route);
-        targetStage.setResizable(route.props().screenIsExpandable);
+        applyTitle(targetHost, route);
+        targetHost.setResizable(route.props().screenIsExpandable);
+
+        long start = System.nanoTime();
+        Object screen = instantiateScreen(resolved);
+        invokeOnMount(screen, resolved.identification());
+        long instantiated = System.nanoTime();
+        trace.instantiateNanos += instantiated - start;
 
-        Object screen = instantiateScreen(route, resolved.params());
-        return buildScene(screen, route);
+        try {
+            targetHost.mount(screen, route.props());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            trace.renderFailed = true;
+            throw e;
+        } finally {
+            trace.mountNanos += System.nanoTime() - instantiated;
+        }
     }
 
     /**
-     * Applies the route title to the given stage.
+     * Applies the route title to the given host.
      */
-    private void applyStageTitle(Stage stage, Route route) {
+    private void applyTitle(ViewHost host, Route route) {
         String title = route.props().name();
-        stage.setTitle(title != null ? title : mainStage.getTitle());
+        host.setTitle(title != null ? title : mainHost.getTitle());
     }
 
     /**
      * Instantiates a screen and injects route parameters if supported.
      *
-     * @param route resolved route
-     * @param params extracted route parameters
+     * @param resolved resolved route, parameters, query and fragment
      * @return instantiated screen
      */
-    private Object instantiateScreen(
-            Route route,
-            Map<String, String> params
-    ) {
-        Object screen = route.routerObjectFunction().apply(this);
+    private Object instantiateScreen(ResolvedRoute resolved) {
+        Object screen = resolved.route().routerObjectFunction().apply(this);
 
         if (screen instanceof RouteParamsAware aware) {
-            aware.onRouteParams(params);
+            aware.onRouteParams(resolved.params());
+            aware.onQueryParams(resolved.query());
+
+            if (resolved.fragment() != null) {
+                aware.onFragment(resolved.fragment());
+            }
         }
 
         return screen;
     }
 
     /**
-     * Builds a JavaFX Scene from a screen instance.
+     * Calls the optional onMount method of a screen before it is rendered.
      *
      * @param screen instantiated screen
-     * @param route resolved route
-     * @return constructed JavaFX Scene
-     * @throws ReflectiveOperationException if render method invocation fails
+     * @param identification route identification, for the flight recorder
      */
-    private Scene buildScene(Object screen, Route route)
-            throws ReflectiveOperationException {
-
+    private void invokeOnMount(Object screen, String identification) {
         try {
             var method = screen.getClass().getMethod("onMount");
             method.invoke(screen);
@@ -324,62 +699,72 @@ public class Router {
         } catch (IllegalAccessException | java.lang.reflect.InvocationTargetException e) {
             // Log error but don't fail navigation
             System.err.println("Error executing onMount for screen " + screen.getClass().getSimpleName() + ": " + e.getMessage());
+            recordOnMountError(screen, identification, e);
         } catch (Exception e) {
             System.err.println("Error executing onMount for screen " + screen.getClass().getSimpleName() + ": " + e.getMessage());
+            recordOnMountError(screen, identification, e);
         }
+    }
 
-        var component = (ComponentInterface<?>) screen
-                .getClass()
-                .getMethod("render")
-                .invoke(screen);
-
-        return new Scene(
-                        (Parent) component.getNode(),
-                        route.props().screenWidth(),
-                        route.props().screenHeight()
-                );
+    private void recordOnMountError(Object screen, String identification, Exception e) {
+        Throwable cause = e instanceof java.lang.reflect.InvocationTargetException ite && ite.getCause() != null
+                ? ite.getCause()
+                : e;
+        flightRecorder.record(
+                NavigationFlightRecorder.Type.ON_MOUNT_ERROR,
+                identification,
+                "FAILED",
+                screen.getClass().getSimpleName() + ": " + cause
+        );
     }
+
     /**
      * Represents a resolved route with extracted parameters.
      */
     private record ResolvedRoute(
+            String identification,
             Route route,
-            Map<String, String> params
+            Map<String, String> params,
+            QueryParams query,
+            String fragment
     ) {}
 
     /**
-     * Resolves a route path, supporting dynamic segments.
+     * Resolves a route identification against the compiled route table.
+     *
+     * <p>Only the path is matched; the query string (after {@code ?}) and
+     * the fragment (after {@code #}) are split off and carried along.</p>
      */
-    private ResolvedRoute resolveRoute(String path) {
-
-        String[] pathParts = path.split("/");
-
-        for (Route route : routes) {
-            String[] routeParts = route.identification().split("/");
-
-            if (routeParts.length != pathParts.length) continue;
+    private ResolvedRoute resolveRoute(String identification, NavigationTrace trace) {
+        long start = System.nanoTime();
+        try {
+            ResolvedRoute resolved = resolveRoute(identification);
+            trace.route = resolved.route().identification();
+            return resolved;
+        } finally {
+            trace.resolveNanos += System.nanoTime() - start;
+        }
+    }
 
-            Map<String, String> params = new HashMap<>();
-            boolean matched = true;
+    private ResolvedRoute resolveRoute(String identification) {
+        int hash = identification.indexOf('#');
+        int question = identification.indexOf('?');
+        if (hash >= 0 && question > hash) question = -1;
 
-            for (int i = 0; i < routeParts.length; i++) {
-                String rp = routeParts[i];
-                String pp = pathParts[i];
+        int pathEnd = question >= 0 ? question : hash >= 0 ? hash : identification.length();
+        String path = identification.substring(0, pathEnd);
 
-                if (rp.startsWith("${") && rp.endsWith("}")) {
-                    String key = rp.substring(2, rp.length() - 1);
-                    params.put(key, pp);
-                } else if (!rp.equals(pp)) {
-                    matched = false;
-                    break;
-                }
-            }
+        RouteMatcher.Match match = matcher.match(path);
 
-            if (matched) {
-                return new ResolvedRoute(route, params);
-            }
+        if (match == null) {
+            throw new RouteNotFoundException(identification);
         }
 
-        throw new RouteNotFoundException(path);
+        QueryParams query = question < 0
+                ? QueryParams.EMPTY
+                : QueryParams.of(identification.substring(question + 1, hash >= 0 ? hash : identification.length()));
+        String fragment = hash >= 0 ? identification.substring(hash + 1) : null;
+
+        return new ResolvedRoute(identification, match.route(), match.params(), query, fragment);
     }
 }
@@ -0,0 +1,84 @@
+package megalodonte.router;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events emitted by the {@link Router}.
+ *
+ * <p>Events are only populated and committed when a recording has them
+ * enabled, so the cost is negligible when JFR is off. Enable them with
+ * e.g. {@code -XX:StartFlightRecording} and look for the
+ * "Megalodonte / Router" category.</p>
+ */
+final class RouterEvents {
+
+    private RouterEvents() {}
+
+    @Name("megalodonte.router.Navigation")
+    @Label("Navigation")
+    @Category({"Megalodonte", "Router"})
+    @Description("Navigation or window spawn, from request to mounted screen")
+    @StackTrace(false)
+    static final class Navigation extends Event {
+
+        @Label("Kind")
+        String kind;
+
+        @Label("Identification")
+        String identification;
+
+        @Label("Route")
+        String route;
+
+        @Label("Outcome")
+        String outcome;
+
+        @Label("Resolve Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long resolveTime;
+
+        @Label("Guard Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long guardTime;
+
+        @Label("Instantiate Time")
+        @Description("Screen factory, parameter injection and onMount")
+        @Timespan(Timespan.NANOSECONDS)
+        long instantiateTime;
+
+        @Label("Mount Time")
+        @Description("Rendering the screen into its view host")
+        @Timespan(Timespan.NANOSECONDS)
+        long mountTime;
+
+        @Label("Error")
+        String error;
+    }
+
+    @Name("megalodonte.router.WindowClosed")
+    @Label("Window Closed")
+    @Category({"Megalodonte", "Router"})
+    @StackTrace(false)
+    static final class WindowClosed extends Event {
+
+        @Label("Identification")
+        String identification;
+    }
+
+    @Name("megalodonte.router.FocusChanged")
+    @Label("Focus Changed")
+    @Category({"Megalodonte", "Router"})
+    @Description("The view host receiving navigation commands changed")
+    @StackTrace(false)
+    static final class FocusChanged extends Event {
+
+        @Label("Target")
+        String target;
+    }
+}
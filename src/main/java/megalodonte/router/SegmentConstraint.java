@@ -0,0 +1,198 @@
+package megalodonte.router;
+
+import java.util.BitSet;
+
+/**
+ * Compiled constraint of a dynamic route segment, e.g. {@code ${id:int}}
+ * or {@code ${slug:[a-z-]+}}.
+ *
+ * <p>Constraints are parsed once when the routes are compiled and are
+ * checked with a plain character scan during matching; no regular
+ * expression is involved.</p>
+ *
+ * <p>Supported specifications:</p>
+ * <ul>
+ *   <li>{@code int} - optional sign followed by digits, within int range</li>
+ *   <li>{@code long} - optional sign followed by digits, within long range</li>
+ *   <li>{@code alpha} - one or more letters</li>
+ *   <li>{@code alnum} - one or more letters or digits</li>
+ *   <li>{@code uuid} - canonical 8-4-4-4-12 hexadecimal UUID</li>
+ *   <li>{@code [set]} followed by {@code +} (default), {@code *}, {@code {n}} or {@code {n,m}} -
+ *       a character class with ranges ({@code a-z}), escapes ({@code \-}) and negation ({@code [^.]});
+ *       it cannot contain {@code /}, since patterns are split into segments first</li>
+ * </ul>
+ */
+@FunctionalInterface
+interface SegmentConstraint {
+
+    /**
+     * @param segment a single path segment
+     * @return true if the segment satisfies the constraint
+     */
+    boolean test(String segment);
+
+    /**
+     * Compiles a constraint specification.
+     *
+     * @param spec the text after {@code :} in a dynamic segment
+     * @return the compiled constraint
+     * @throws IllegalArgumentException if the specification is not supported
+     */
+    static SegmentConstraint parse(String spec) {
+        return switch (spec) {
+            case "int" -> s -> isInteger(s, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            case "long" -> s -> isInteger(s, Long.MIN_VALUE, Long.MAX_VALUE);
+            case "alpha" -> s -> isWord(s, false);
+            case "alnum" -> s -> isWord(s, true);
+            case "uuid" -> SegmentConstraint::isUuid;
+            default -> {
+                if (spec.startsWith("[")) yield CharClass.parse(spec);
+                throw new IllegalArgumentException("Unsupported route constraint: " + spec);
+            }
+        };
+    }
+
+    private static boolean isInteger(String s, long min, long max) {
+        int length = s.length();
+        if (length == 0) return false;
+
+        int i = 0;
+        boolean negative = s.charAt(0) == '-';
+        if (negative || s.charAt(0) == '+') {
+            if (length == 1) return false;
+            i = 1;
+        }
+
+        // Accumulate negatively so that the minimum value is representable
+        long limit = negative ? min : -max;
+        long multmin = limit / 10;
+        long value = 0;
+        for (; i < length; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return false;
+            if (value < multmin) return false;
+            value *= 10;
+            if (value < limit + digit) return false;
+            value -= digit;
+        }
+        return true;
+    }
+
+    private static boolean isWord(String s, boolean allowDigits) {
+        int length = s.length();
+        if (length == 0) return false;
+
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (!Character.isLetter(c) && !(allowDigits && Character.isDigit(c))) return false;
+        }
+        return true;
+    }
+
+    private static boolean isUuid(String s) {
+        if (s.length() != 36) return false;
+        for (int i = 0; i < 36; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return false;
+            } else if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Character class constraint with a length range.
+     */
+    final class CharClass implements SegmentConstraint {
+
+        private final BitSet chars;
+        private final boolean negated;
+        private final int minLength;
+        private final int maxLength;
+
+        private CharClass(BitSet chars, boolean negated, int minLength, int maxLength) {
+            this.chars = chars;
+            this.negated = negated;
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+        }
+
+        static CharClass parse(String spec) {
+            int i = 1;
+            boolean negated = spec.length() > 1 && spec.charAt(1) == '^';
+            if (negated) i++;
+
+            BitSet chars = new BitSet(128);
+            boolean closed = false;
+
+            while (i < spec.length()) {
+                char c = spec.charAt(i);
+                if (c == ']') {
+                    closed = true;
+                    i++;
+                    break;
+                }
+                if (c == '\\') {
+                    if (++i == spec.length()) break;
+                    c = spec.charAt(i);
+                }
+                if (i + 2 < spec.length() && spec.charAt(i + 1) == '-' && spec.charAt(i + 2) != ']') {
+                    char end = spec.charAt(i + 2);
+                    if (end < c) {
+                        throw new IllegalArgumentException("Invalid range " + c + "-" + end + " in route constraint: " + spec);
+                    }
+                    chars.set(c, end + 1);
+                    i += 3;
+                } else {
+                    chars.set(c);
+                    i++;
+                }
+            }
+
+            if (!closed) {
+                throw new IllegalArgumentException("Unterminated character class in route constraint: " + spec);
+            }
+
+            String quantifier = spec.substring(i);
+            int min;
+            int max;
+            if (quantifier.isEmpty() || quantifier.equals("+")) {
+                min = 1;
+                max = Integer.MAX_VALUE;
+            } else if (quantifier.equals("*")) {
+                min = 0;
+                max = Integer.MAX_VALUE;
+            } else if (quantifier.startsWith("{") && quantifier.endsWith("}")) {
+                String[] bounds = quantifier.substring(1, quantifier.length() - 1).split(",", -1);
+                try {
+                    min = Integer.parseInt(bounds[0].trim());
+                    max = bounds.length == 1 ? min
+                            : bounds[1].isBlank() ? Integer.MAX_VALUE
+                            : Integer.parseInt(bounds[1].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid quantifier in route constraint: " + spec, e);
+                }
+                if (bounds.length > 2 || min < 0 || max < min) {
+                    throw new IllegalArgumentException("Invalid quantifier in route constraint: " + spec);
+                }
+            } else {
+                throw new IllegalArgumentException("Invalid quantifier in route constraint: " + spec);
+            }
+
+            return new CharClass(chars, negated, min, max);
+        }
+
+        @Override
+        public boolean test(String segment) {
+            int length = segment.length();
+            if (length < minLength || length > maxLength) return false;
+
+            for (int i = 0; i < length; i++) {
+                if (chars.get(segment.charAt(i)) == negated) return false;
+            }
+            return true;
+        }
+    }
+}
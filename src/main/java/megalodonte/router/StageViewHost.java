@@ -0,0 +1,87 @@
+package megalodonte.router;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import megalodonte.base.ComponentInterface;
+
+/**
+ * {@link ViewHost} backed by a JavaFX {@link Stage}.
+ *
+ * <p>This is the only place where the Router builds JavaFX scenes:
+ * the screen's {@code render()} method is invoked and its node is
+ * wrapped in a {@link Scene} sized after the route props.</p>
+ */
+public final class StageViewHost implements ViewHost {
+
+    private final Stage stage;
+
+    /**
+     * @param stage the stage to host screens in
+     */
+    public StageViewHost(Stage stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * @return the underlying stage
+     */
+    public Stage stage() {
+        return stage;
+    }
+
+    @Override
+    public void setTitle(String title) {
+        stage.setTitle(title);
+    }
+
+    @Override
+    public String getTitle() {
+        return stage.getTitle();
+    }
+
+    @Override
+    public void setResizable(boolean resizable) {
+        stage.setResizable(resizable);
+    }
+
+    /**
+     * Builds a JavaFX Scene from the screen and sets it on the stage.
+     *
+     * @throws ReflectiveOperationException if render method invocation fails
+     */
+    @Override
+    public void mount(Object screen, Router.RouteProps props) throws ReflectiveOperationException {
+        var component = (ComponentInterface<?>) screen
+                .getClass()
+                .getMethod("render")
+                .invoke(screen);
+
+        stage.setScene(new Scene(
+                (Parent) component.getNode(),
+                props.screenWidth(),
+                props.screenHeight()
+        ));
+    }
+
+    @Override
+    public void show() {
+        stage.show();
+    }
+
+    @Override
+    public void close() {
+        stage.close();
+    }
+
+    @Override
+    public void focus() {
+        stage.toFront();
+        stage.requestFocus();
+    }
+
+    @Override
+    public void setOnHidden(Runnable action) {
+        stage.setOnHidden(e -> action.run());
+    }
+}
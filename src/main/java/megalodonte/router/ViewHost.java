@@ -0,0 +1,64 @@
+package megalodonte.router;
+
+/**
+ * Toolkit-independent window abstraction used by the {@link Router}.
+ *
+ * <p>The Router resolves routes, runs guards, instantiates screens and
+ * calls their lifecycle hooks without touching any UI toolkit. Everything
+ * that depends on the toolkit (rendering, showing, closing and focusing
+ * windows) goes through a ViewHost.</p>
+ *
+ * <p>Implementations:</p>
+ * <ul>
+ *   <li>{@link StageViewHost} - a JavaFX {@code Stage}</li>
+ *   <li>{@link HeadlessViewHost} - in-memory host for tests and server-side use</li>
+ * </ul>
+ */
+public interface ViewHost {
+
+    /**
+     * @param title the window title
+     */
+    void setTitle(String title);
+
+    /**
+     * @return the current window title
+     */
+    String getTitle();
+
+    /**
+     * @param resizable whether the user may resize the window
+     */
+    void setResizable(boolean resizable);
+
+    /**
+     * Renders a screen and makes it the content of this host,
+     * replacing the previous one.
+     *
+     * @param screen the instantiated screen, after onMount
+     * @param props visual configuration of the route
+     * @throws ReflectiveOperationException if the screen cannot be rendered
+     */
+    void mount(Object screen, Router.RouteProps props) throws ReflectiveOperationException;
+
+    /**
+     * Shows the window.
+     */
+    void show();
+
+    /**
+     * Closes the window. Implementations must run the
+     * {@link #setOnHidden(Runnable) hidden action}.
+     */
+    void close();
+
+    /**
+     * Brings the window to front and requests focus.
+     */
+    void focus();
+
+    /**
+     * @param action callback run when the window is hidden, by the user or by {@link #close()}
+     */
+    void setOnHidden(Runnable action);
+}
@@ -0,0 +1,168 @@
+package megalodonte.router;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for GuardCache.
+ */
+class GuardCacheTest {
+
+    private static final Router.Route USER = TestUtils.createTestRoute("user/${id}");
+    private static final Router.Route ADMIN = TestUtils.createTestRoute("admin");
+
+    private AtomicLong clock;
+    private AtomicInteger evaluations;
+    private GuardCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        evaluations = new AtomicInteger();
+        cache = new GuardCache(Duration.ofSeconds(10), 4, clock::get);
+    }
+
+    private CompletableFuture<GuardResult> evaluate() {
+        evaluations.incrementAndGet();
+        return CompletableFuture.completedFuture(GuardResult.allow());
+    }
+
+    private CompletableFuture<GuardResult> get(Router.Route route, String id, String query, Object principal) {
+        Map<String, String> params = id != null ? Map.of("id", id) : Map.of();
+        return cache.get(route, params, query, principal, this::evaluate);
+    }
+
+    @Test
+    @DisplayName("should reuse decision for same route and principal within TTL")
+    void get_whenSameKeyWithinTtl_shouldEvaluateOnce() {
+        // Act
+        get(USER, "1", "", "alice");
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        get(USER, "1", "", "alice");
+
+        // Assert
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    @DisplayName("should evaluate again once the TTL expires")
+    void get_whenTtlExpired_shouldEvaluateAgain() {
+        // Act
+        get(USER, "1", "", "alice");
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        get(USER, "1", "", "alice");
+
+        // Assert
+        assertEquals(2, evaluations.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("should keep separate decisions per route, params, query and principal")
+    void get_whenKeyPartsDiffer_shouldEvaluateEach() {
+        // Act
+        get(USER, "1", "", "alice");
+        get(USER, "1", "", "bob");
+        get(USER, "2", "", "alice");
+        get(USER, "2", "tab=orders", "alice");
+        get(USER, "2", "tab=orders", "alice");
+
+        // Assert
+        assertEquals(4, evaluations.get());
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    @DisplayName("should drop expired entries when the cache is full")
+    void get_whenFull_shouldEvictExpiredEntries() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            get(USER, String.valueOf(i), "", "alice");
+        }
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        get(ADMIN, null, "", "alice");
+
+        // Assert
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("should never grow beyond its maximum size")
+    void get_whenFullOfLiveEntries_shouldStayBounded() {
+        // Act
+        for (int i = 0; i < 20; i++) {
+            get(USER, String.valueOf(i), "", "alice");
+        }
+
+        // Assert
+        assertTrue(cache.size() <= 4);
+        assertEquals(20, evaluations.get());
+    }
+
+    @Test
+    @DisplayName("should share a pending decision between concurrent navigations")
+    void get_whenDecisionPending_shouldShareIt() {
+        // Arrange
+        CompletableFuture<GuardResult> pending = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<GuardResult> first = cache.get(ADMIN, Map.of(), "", "alice", () -> pending);
+        CompletableFuture<GuardResult> second = cache.get(ADMIN, Map.of(), "", "alice", this::evaluate);
+        pending.complete(GuardResult.deny("no role"));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(0, evaluations.get());
+        assertEquals(GuardResult.Decision.DENY, second.join().decision());
+    }
+
+    @Test
+    @DisplayName("should evict decisions that fail")
+    void get_whenDecisionFails_shouldEvictIt() {
+        // Act
+        cache.get(ADMIN, Map.of(), "", "alice",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("offline")));
+        get(ADMIN, null, "", "alice");
+
+        // Assert
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    @DisplayName("should not cache when TTL is zero")
+    void get_whenTtlZero_shouldAlwaysEvaluate() {
+        // Arrange
+        cache.setTtl(Duration.ZERO);
+
+        // Act
+        get(ADMIN, null, "", null);
+        get(ADMIN, null, "", null);
+
+        // Assert
+        assertEquals(2, evaluations.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("should clear all decisions on invalidate")
+    void invalidate_shouldForceReevaluation() {
+        // Act
+        get(ADMIN, null, "", "alice");
+        cache.invalidate();
+        get(ADMIN, null, "", "alice");
+
+        // Assert
+        assertEquals(2, evaluations.get());
+    }
+}
@@ -0,0 +1,89 @@
+package megalodonte.router;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for NavigationFlightRecorder.
+ */
+class NavigationFlightRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<String> identifications(NavigationFlightRecorder recorder) {
+        return recorder.snapshot().stream().map(NavigationFlightRecorder.Entry::identification).toList();
+    }
+
+    @Test
+    @DisplayName("should round capacity up to a power of two")
+    void constructor_shouldRoundCapacity() {
+        assertEquals(4, new NavigationFlightRecorder(3).capacity());
+        assertEquals(256, new NavigationFlightRecorder().capacity());
+        assertThrows(IllegalArgumentException.class, () -> new NavigationFlightRecorder(0));
+    }
+
+    @Test
+    @DisplayName("should keep only the most recent entries, oldest first")
+    void snapshot_whenBufferWrapsAround_shouldReturnLatestEntries() {
+        // Arrange
+        NavigationFlightRecorder recorder = new NavigationFlightRecorder(4);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            recorder.record(NavigationFlightRecorder.Type.NAVIGATE, "route-" + i, "MOUNTED", null);
+        }
+
+        // Assert
+        assertEquals(List.of("route-6", "route-7", "route-8", "route-9"), identifications(recorder));
+        assertEquals(9, recorder.snapshot().get(3).sequence());
+    }
+
+    @Test
+    @DisplayName("should write one line per entry when dumping")
+    void dump_shouldWriteEntries() throws IOException {
+        // Arrange
+        NavigationFlightRecorder recorder = new NavigationFlightRecorder(8);
+        recorder.record(NavigationFlightRecorder.Type.SPAWN, "user/1", "MOUNTED", 1_000, 100, 0, 500, 400, null);
+        recorder.record(NavigationFlightRecorder.Type.CLOSE, "user/1", "CLOSED", null);
+        Path file = tempDir.resolve("dump.log");
+
+        // Act
+        recorder.dump(file);
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).contains("SPAWN user/1 MOUNTED"));
+        assertTrue(lines.get(2).contains("CLOSE user/1 CLOSED"));
+    }
+
+    @Test
+    @DisplayName("should dump to the dump directory on failure only once enabled")
+    void dumpOnFailure_shouldRespectDumpDirectory() throws IOException {
+        // Arrange
+        NavigationFlightRecorder recorder = new NavigationFlightRecorder(8);
+        recorder.record(NavigationFlightRecorder.Type.NAVIGATE, "missing", "NOT_FOUND", null);
+        assertNull(recorder.dumpOnFailure(new RouteNotFoundException("missing")));
+        recorder.setDumpDirectory(tempDir);
+
+        // Act
+        Path file = recorder.dumpOnFailure(new RouteNotFoundException("missing"));
+
+        // Assert
+        assertNotNull(file);
+        assertTrue(file.getFileName().toString().matches("megalodonte-router-\\d+-\\d+\\.log"));
+        assertTrue(Files.readString(file).contains("Route not found: missing"));
+
+        recorder.setDumpDirectory(null);
+        assertNull(recorder.dumpOnFailure(new RouteNotFoundException("missing")));
+    }
+}
@@ -0,0 +1,86 @@
+package megalodonte.router;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for QueryParams.
+ */
+class QueryParamsTest {
+
+    @Test
+    @DisplayName("should parse simple and repeated parameters")
+    void get_whenGivenQuery_shouldReturnValues() {
+        // Arrange
+        QueryParams query = QueryParams.of("inicio=2026-01-01&fim=2026-02-01&tag=a&tag=b");
+
+        // Act & Assert
+        assertEquals("2026-01-01", query.get("inicio"));
+        assertEquals("2026-02-01", query.get("fim"));
+        assertEquals(List.of("a", "b"), query.getAll("tag"));
+        assertEquals(List.of("inicio", "fim", "tag"), List.copyOf(query.names()));
+        assertNull(query.get("missing"));
+        assertTrue(query.getAll("missing").isEmpty());
+    }
+
+    @Test
+    @DisplayName("should percent-decode names and values as UTF-8")
+    void get_whenGivenEncodedValues_shouldDecode() {
+        // Arrange
+        QueryParams query = QueryParams.of("nome=Jos%C3%A9+Silva&a%26b=1%3D1&bad=%zz");
+
+        // Act & Assert
+        assertEquals("Jos\u00e9 Silva", query.get("nome"));
+        assertEquals("1=1", query.get("a&b"));
+        assertEquals("%zz", query.get("bad"));
+    }
+
+    @Test
+    @DisplayName("should handle flags and empty pairs")
+    void get_whenGivenFlagsAndEmptyPairs_shouldHandleGracefully() {
+        // Arrange
+        QueryParams query = QueryParams.of("&debug&&mode=");
+
+        // Act & Assert
+        assertEquals("", query.get("debug"));
+        assertEquals("", query.get("mode"));
+        assertEquals(2, query.names().size());
+    }
+
+    @Test
+    @DisplayName("should share instances for identical query strings")
+    void of_whenGivenSameRawQuery_shouldReturnSameInstance() {
+        // Act
+        QueryParams first = QueryParams.of("page=2&size=50");
+        QueryParams second = QueryParams.of("page=2&size=50");
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first.asMap(), second.asMap());
+        assertEquals("page=2&size=50", first.raw());
+    }
+
+    @Test
+    @DisplayName("should return EMPTY for null or empty query")
+    void of_whenGivenNoQuery_shouldReturnEmpty() {
+        assertSame(QueryParams.EMPTY, QueryParams.of(null));
+        assertSame(QueryParams.EMPTY, QueryParams.of(""));
+        assertTrue(QueryParams.EMPTY.isEmpty());
+        assertTrue(QueryParams.of("&&").isEmpty());
+    }
+
+    @Test
+    @DisplayName("should expose an unmodifiable map")
+    void asMap_shouldBeUnmodifiable() {
+        // Arrange
+        QueryParams query = QueryParams.of("id=1");
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> query.asMap().put("id", List.of("2")));
+        assertThrows(UnsupportedOperationException.class, () -> query.getAll("id").add("2"));
+    }
+}
@@ -0,0 +1,150 @@
+package megalodonte.router;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for RouteMatcher and SegmentConstraint.
+ */
+class RouteMatcherTest {
+
+    private static RouteMatcher compile(String... identifications) {
+        return new RouteMatcher(
+                List.of(identifications).stream().map(TestUtils::createTestRoute).toList()
+        );
+    }
+
+    private static String matchedIdentification(RouteMatcher matcher, String path) {
+        RouteMatcher.Match match = matcher.match(path);
+        return match != null ? match.route().identification() : null;
+    }
+
+    @Test
+    @DisplayName("should match static and dynamic segments")
+    void match_whenGivenStaticAndDynamicRoutes_shouldExtractParams() {
+        // Arrange
+        RouteMatcher matcher = compile("home", "cad-prod/${id}");
+
+        // Act
+        RouteMatcher.Match match = matcher.match("cad-prod/123");
+
+        // Assert
+        assertEquals("home", matchedIdentification(matcher, "home"));
+        assertEquals("cad-prod/${id}", match.route().identification());
+        assertEquals("123", match.params().get("id"));
+        assertNull(matcher.match("cad-prod"));
+        assertNull(matcher.match("unknown"));
+    }
+
+    @Test
+    @DisplayName("should capture remaining segments with catch-all")
+    void match_whenGivenCatchAll_shouldCaptureRest() {
+        // Arrange
+        RouteMatcher matcher = compile("docs/${rest*}", "docs/index");
+
+        // Act & Assert
+        assertEquals("a/b/c", matcher.match("docs/a/b/c").params().get("rest"));
+        assertEquals("", matcher.match("docs").params().get("rest"));
+        assertEquals("docs/index", matchedIdentification(matcher, "docs/index"));
+    }
+
+    @Test
+    @DisplayName("should match optional segments with and without a value")
+    void match_whenGivenOptionalSegment_shouldMatchBothForms() {
+        // Arrange
+        RouteMatcher matcher = compile("list/${page?:int}");
+
+        // Act & Assert
+        assertTrue(matcher.match("list").params().isEmpty());
+        assertEquals("3", matcher.match("list/3").params().get("page"));
+        assertNull(matcher.match("list/next"));
+    }
+
+    @Test
+    @DisplayName("should prefer literals, then constrained, then plain parameters")
+    void match_whenRoutesOverlap_shouldApplyPriority() {
+        // Arrange
+        RouteMatcher matcher = compile("user/new", "user/${id:int}", "user/${name}", "user/${id:int}/edit");
+
+        // Act & Assert
+        assertEquals("user/new", matchedIdentification(matcher, "user/new"));
+        assertEquals("user/${id:int}", matchedIdentification(matcher, "user/42"));
+        assertEquals("user/${name}", matchedIdentification(matcher, "user/bob"));
+        assertEquals("user/${id:int}/edit", matchedIdentification(matcher, "user/42/edit"));
+        assertNull(matcher.match("user/bob/edit"));
+    }
+
+    @Test
+    @DisplayName("should reject ambiguous and invalid patterns")
+    void constructor_whenGivenInvalidRoutes_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> compile("a/${x}", "a/${x}/"));
+        assertThrows(IllegalArgumentException.class, () -> compile("a/${x}", "a/${y}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("a/${x:int}", "a/${y:int}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("a/${x?}/${y?}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("a/${rest*}/b"));
+        assertThrows(IllegalArgumentException.class, () -> compile("a/${id:unknown}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("a/${slug:[a-z}"));
+    }
+
+    @Test
+    @DisplayName("should reject parameter segments split by a slash in their constraint")
+    void constructor_whenConstraintContainsSlash_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> compile("f/${x:[^/]+}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("f/${x"));
+        assertEquals("abc", compile("f/${x:[^.]+}").match("f/abc").params().get("x"));
+    }
+
+    @Test
+    @DisplayName("should share parameter positions between routes with different names")
+    void match_whenParamNamesDifferByRoute_shouldUseEachRouteNames() {
+        // Arrange
+        RouteMatcher matcher = compile("a/${x}/b", "a/${y}/c");
+
+        // Act & Assert
+        assertEquals("1", matcher.match("a/1/b").params().get("x"));
+        assertEquals("2", matcher.match("a/2/c").params().get("y"));
+        assertFalse(matcher.match("a/2/c").params().containsKey("x"));
+    }
+
+    @Test
+    @DisplayName("should rank overlapping constraints independently of registration order")
+    void match_whenConstraintsOverlap_shouldNotDependOnOrder() {
+        // Arrange
+        RouteMatcher forward = compile("u/${id:int}", "u/${n:long}", "u/${s}");
+        RouteMatcher backward = compile("u/${s}", "u/${n:long}", "u/${id:int}");
+
+        // Act & Assert
+        for (RouteMatcher matcher : List.of(forward, backward)) {
+            assertEquals("u/${id:int}", matchedIdentification(matcher, "u/1"));
+            assertEquals("u/${n:long}", matchedIdentification(matcher, "u/99999999999"));
+            assertEquals("u/${s}", matchedIdentification(matcher, "u/x"));
+        }
+    }
+
+    @Test
+    @DisplayName("should check built-in and character class constraints")
+    void segmentConstraint_shouldScanCharacters() {
+        // Arrange
+        SegmentConstraint integer = SegmentConstraint.parse("int");
+        SegmentConstraint slug = SegmentConstraint.parse("[a-z-]+");
+        SegmentConstraint code = SegmentConstraint.parse("[A-Z0-9]{2,3}");
+        SegmentConstraint uuid = SegmentConstraint.parse("uuid");
+
+        // Act & Assert
+        assertTrue(integer.test("-2147483648"));
+        assertFalse(integer.test("2147483648"));
+        assertFalse(integer.test("12a"));
+        assertFalse(integer.test("-"));
+        assertTrue(slug.test("my-post"));
+        assertFalse(slug.test("My-Post"));
+        assertFalse(slug.test(""));
+        assertTrue(code.test("BR1"));
+        assertFalse(code.test("B"));
+        assertTrue(uuid.test("123e4567-e89b-12d3-a456-426614174000"));
+        assertFalse(uuid.test("123e4567e89b12d3a456426614174000"));
+    }
+}
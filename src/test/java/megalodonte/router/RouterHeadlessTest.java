@@ -0,0 +1,355 @@
+package megalodonte.router;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for Router running on HeadlessViewHost (no JavaFX toolkit required).
+ */
+class RouterHeadlessTest {
+
+    private HeadlessViewHost mainHost;
+    private List<HeadlessViewHost> spawnedHosts;
+    private List<Exception> errors;
+    private Router router;
+
+    @BeforeEach
+    void setUp() throws ReflectiveOperationException {
+        mainHost = new HeadlessViewHost("App");
+        spawnedHosts = new ArrayList<>();
+        errors = new ArrayList<>();
+
+        router = new Router(
+                Set.of(
+                        TestUtils.createTestRoute("home"),
+                        TestUtils.createTestRoute("login"),
+                        TestUtils.createTestRoute("admin"),
+                        TestUtils.createParamAwareRoute("user/${id:int}"),
+                        TestUtils.createParamAwareRoute("docs/${rest*}"),
+                        TestUtils.createParamAwareRoute("relatorio"),
+                        TestUtils.createParamAwareRoute("ajuda")
+                ),
+                "home",
+                mainHost,
+                () -> {
+                    HeadlessViewHost host = new HeadlessViewHost();
+                    spawnedHosts.add(host);
+                    return host;
+                },
+                // Every guard in these tests completes on the test thread, which owns the router
+                Runnable::run
+        );
+        // Keep failure dumps out of the file system unless a test opts in
+        router.getFlightRecorder().setDumpDirectory(null);
+    }
+
+    private TestUtils.MockParamAwareScreen currentParamAwareScreen() {
+        return (TestUtils.MockParamAwareScreen) mainHost.getScreen();
+    }
+
+    @Test
+    @DisplayName("should mount the entrypoint route in the main host")
+    void constructor_shouldMountEntrypoint() {
+        assertInstanceOf(TestUtils.MockSimpleScreen.class, mainHost.getScreen());
+        assertEquals("Test Window", mainHost.getTitle());
+        assertEquals(800, mainHost.getProps().screenWidth());
+        assertSame(mainHost, router.getCurrentActiveHost());
+    }
+
+    @Test
+    @DisplayName("should inject params, query and fragment on navigation")
+    void navigateTo_whenGivenDynamicRoute_shouldInjectParams() {
+        // Act
+        router.navigateTo("user/42?tab=orders#top", errors::add);
+
+        // Assert
+        assertTrue(errors.isEmpty());
+        assertEquals("42", currentParamAwareScreen().getParams().get("id"));
+        assertEquals("orders", currentParamAwareScreen().getQuery().get("tab"));
+        assertEquals("top", currentParamAwareScreen().getFragment());
+        assertEquals(2, mainHost.getMountCount());
+    }
+
+    @Test
+    @DisplayName("should match static routes once the query string is stripped")
+    void navigateTo_whenStaticRouteHasQuery_shouldMatchPathOnly() {
+        // Act
+        router.navigateTo("relatorio?inicio=2026-01-01&fim=2026-02-01&tag=a&tag=b%20c", errors::add);
+
+        // Assert
+        assertTrue(errors.isEmpty());
+        TestUtils.MockParamAwareScreen screen = currentParamAwareScreen();
+        assertTrue(screen.getParams().isEmpty());
+        assertEquals("2026-01-01", screen.getQuery().get("inicio"));
+        assertEquals("2026-02-01", screen.getQuery().get("fim"));
+        assertEquals(List.of("a", "b c"), screen.getQuery().getAll("tag"));
+        assertNull(screen.getFragment());
+    }
+
+    @Test
+    @DisplayName("should treat a question mark after the fragment as part of the fragment")
+    void navigateTo_whenHashPrecedesQuestionMark_shouldKeepItInFragment() {
+        // Act
+        router.navigateTo("ajuda#faq?item=2", errors::add);
+
+        // Assert
+        assertTrue(errors.isEmpty());
+        TestUtils.MockParamAwareScreen screen = currentParamAwareScreen();
+        assertSame(QueryParams.EMPTY, screen.getQuery());
+        assertEquals("faq?item=2", screen.getFragment());
+    }
+
+    @Test
+    @DisplayName("should pass an empty query and no fragment when the identification has none")
+    void navigateTo_whenNoQueryOrFragment_shouldPassEmptyQuery() {
+        // Act
+        router.navigateTo("ajuda", errors::add);
+
+        // Assert
+        assertSame(QueryParams.EMPTY, currentParamAwareScreen().getQuery());
+        assertNull(currentParamAwareScreen().getFragment());
+    }
+
+    @Test
+    @DisplayName("should report unknown routes to the error handler")
+    void navigateTo_whenRouteMissing_shouldReportRouteNotFound() {
+        // Act
+        router.navigateTo("user/abc", errors::add);
+
+        // Assert
+        assertEquals(1, errors.size());
+        assertInstanceOf(RouteNotFoundException.class, errors.get(0));
+        assertEquals(1, mainHost.getMountCount());
+    }
+
+    @Test
+    @DisplayName("should make spawned windows active and fall back to main on close")
+    void spawnWindow_shouldTrackActiveHost() {
+        // Act
+        router.spawnWindow("docs/a/b", errors::add);
+
+        // Assert
+        assertEquals(1, spawnedHosts.size());
+        HeadlessViewHost spawned = spawnedHosts.get(0);
+        assertTrue(spawned.isShowing());
+        assertSame(spawned, router.getCurrentActiveHost());
+
+        router.navigateTo("user/7", errors::add);
+        assertEquals(2, spawned.getMountCount());
+
+        router.closeSpawn();
+        assertFalse(spawned.isShowing());
+        assertSame(mainHost, router.getCurrentActiveHost());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    @DisplayName("should close a spawned window by identification")
+    void closeSpawn_whenGivenIdentification_shouldCloseMatchingWindow() {
+        // Arrange
+        router.spawnWindow("home", errors::add);
+        router.spawnWindow("login", errors::add);
+        HeadlessViewHost home = spawnedHosts.get(0);
+        HeadlessViewHost login = spawnedHosts.get(1);
+
+        // Act
+        router.closeSpawn("login");
+
+        // Assert
+        assertFalse(login.isShowing());
+        assertTrue(home.isShowing());
+        assertSame(mainHost, router.getCurrentActiveHost());
+
+        router.closeSpawn("home");
+        assertFalse(home.isShowing());
+
+        // Nothing left to close
+        assertDoesNotThrow(() -> router.closeSpawn("home"));
+        assertDoesNotThrow(() -> router.closeSpawn());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    @DisplayName("should return navigation to the main host on focusMainStage")
+    void focusMainStage_shouldFocusMainHost() {
+        // Arrange
+        router.spawnWindow("home", errors::add);
+
+        // Act
+        router.focusMainStage();
+
+        // Assert
+        assertSame(mainHost, router.getCurrentActiveHost());
+        assertEquals(1, mainHost.getFocusCount());
+    }
+
+    @Test
+    @DisplayName("should apply guard denials and redirects before instantiating screens")
+    void navigateTo_whenGuardsRegistered_shouldApplyDecision() {
+        // Arrange
+        router.addGuard(ctx -> CompletableFuture.completedFuture(
+                ctx.path().equals("admin") ? GuardResult.redirect("login")
+                        : ctx.path().startsWith("user") ? GuardResult.deny("no access")
+                        : GuardResult.allow()));
+
+        // Act
+        router.navigateTo("admin", errors::add);
+        router.navigateTo("user/1", errors::add);
+
+        // Assert
+        assertEquals(2, mainHost.getMountCount());
+        assertEquals(1, errors.size());
+        assertInstanceOf(NavigationDeniedException.class, errors.get(0));
+    }
+
+    @Test
+    @DisplayName("should cache guard decisions per route and query, ignoring the fragment")
+    void navigateTo_whenOnlyFragmentDiffers_shouldReuseGuardDecision() {
+        // Arrange
+        AtomicInteger evaluations = new AtomicInteger();
+        router.addGuard(ctx -> {
+            evaluations.incrementAndGet();
+            return CompletableFuture.completedFuture(GuardResult.allow());
+        });
+
+        // Act
+        router.navigateTo("user/1#top", errors::add);
+        router.navigateTo("user/1#bottom", errors::add);
+        router.navigateTo("user/1?tab=orders", errors::add);
+
+        // Assert
+        assertEquals(2, evaluations.get());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    @DisplayName("should stop redirect loops")
+    void navigateTo_whenGuardsRedirectInCycle_shouldReportLoop() {
+        // Arrange
+        router.addGuard(ctx -> CompletableFuture.completedFuture(
+                ctx.path().equals("admin") ? GuardResult.redirect("login") : GuardResult.redirect("admin")));
+
+        // Act
+        router.navigateTo("admin", errors::add);
+
+        // Assert
+        RedirectLoopException loop = assertInstanceOf(RedirectLoopException.class, errors.get(0));
+        assertEquals(List.of("admin", "login", "admin"), loop.getChain());
+        assertEquals(1, mainHost.getMountCount());
+    }
+
+    @Test
+    @DisplayName("should resume navigation when an asynchronous guard completes")
+    void navigateTo_whenGuardPending_shouldMountAfterCompletion() {
+        // Arrange
+        CompletableFuture<GuardResult> pending = new CompletableFuture<>();
+        router.addGuard(ctx -> pending);
+
+        // Act
+        router.navigateTo("login", errors::add);
+        int mountsBeforeCompletion = mainHost.getMountCount();
+        pending.complete(GuardResult.allow());
+
+        // Assert
+        assertEquals(1, mountsBeforeCompletion);
+        assertEquals(2, mainHost.getMountCount());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    @DisplayName("should resume navigation on the router thread when a guard completes elsewhere")
+    void navigateTo_whenGuardCompletesOnOtherThread_shouldResumeOnUiExecutor() throws Exception {
+        // Arrange
+        ExecutorService routerThread = Executors.newSingleThreadExecutor();
+        try {
+            List<Thread> factoryThreads = new CopyOnWriteArrayList<>();
+            Router.Route tracked = new Router.Route(
+                    "tracked",
+                    r -> {
+                        factoryThreads.add(Thread.currentThread());
+                        return new TestUtils.MockSimpleScreen();
+                    },
+                    new Router.RouteProps(800, 600, "Tracked", false)
+            );
+            CompletableFuture<GuardResult> pending = new CompletableFuture<>();
+
+            Router confined = routerThread.submit(() -> new Router(
+                    Set.of(tracked), "tracked", new HeadlessViewHost(), HeadlessViewHost::new, routerThread
+            )).get();
+
+            routerThread.submit(() -> {
+                confined.addGuard(ctx -> pending);
+                confined.navigateTo("tracked", errors::add);
+            }).get();
+
+            // Act - complete the guard from the test thread, then wait for the router thread
+            pending.complete(GuardResult.allow());
+            routerThread.submit(() -> {}).get();
+
+            // Assert
+            assertEquals(2, factoryThreads.size());
+            assertSame(factoryThreads.get(0), factoryThreads.get(1));
+            assertNotSame(Thread.currentThread(), factoryThreads.get(1));
+            assertTrue(errors.isEmpty());
+        } finally {
+            routerThread.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should not dump the flight recorder unless a dump directory is set")
+    void navigateTo_whenNoDumpDirectory_shouldNotDump() {
+        // Act
+        router.navigateTo("missing", errors::add);
+
+        // Assert
+        assertNull(new NavigationFlightRecorder().getDumpDirectory());
+        assertNull(router.getFlightRecorder().getDumpDirectory());
+        assertInstanceOf(RouteNotFoundException.class, errors.get(0));
+    }
+
+    @Test
+    @DisplayName("should record navigations and dump the flight recorder when a route is missing")
+    void navigateTo_whenRouteMissing_shouldDumpFlightRecorder(@TempDir Path dumpDir) throws IOException {
+        // Arrange
+        router.getFlightRecorder().setDumpDirectory(dumpDir);
+
+        // Act
+        router.spawnWindow("login", errors::add);
+        router.closeSpawn();
+        router.navigateTo("missing", errors::add);
+
+        // Assert
+        List<NavigationFlightRecorder.Type> types = router.getFlightRecorder().snapshot().stream()
+                .map(NavigationFlightRecorder.Entry::type)
+                .toList();
+        assertEquals(List.of(
+                NavigationFlightRecorder.Type.NAVIGATE,
+                NavigationFlightRecorder.Type.FOCUS,
+                NavigationFlightRecorder.Type.SPAWN,
+                NavigationFlightRecorder.Type.CLOSE,
+                NavigationFlightRecorder.Type.FOCUS,
+                NavigationFlightRecorder.Type.NAVIGATE
+        ), types);
+
+        try (var files = Files.list(dumpDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
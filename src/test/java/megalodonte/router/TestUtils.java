@@ -25,16 +25,36 @@ public class TestUtils {
      */
     public static class MockParamAwareScreen implements RouteParamsAware {
         private Map<String, String> params = new HashMap<>();
+        private QueryParams query;
+        private String fragment;
 
         @Override
         public void onRouteParams(Map<String, String> params) {
             this.params = params != null ? new HashMap<>(params) : new HashMap<>();
         }
 
+        @Override
+        public void onQueryParams(QueryParams query) {
+            this.query = query;
+        }
+
+        @Override
+        public void onFragment(String fragment) {
+            this.fragment = fragment;
+        }
+
         public Map<String, String> getParams() {
             return params;
         }
 
+        public QueryParams getQuery() {
+            return query;
+        }
+
+        public String getFragment() {
+            return fragment;
+        }
+
         public Component render() {
             return new MockComponent();
         }